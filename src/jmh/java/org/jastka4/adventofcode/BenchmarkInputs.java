@@ -0,0 +1,31 @@
+package org.jastka4.adventofcode;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Loads the shipped puzzle inputs and blows them up to the sizes the benchmarks are parametrised with.
+ */
+public final class BenchmarkInputs {
+
+    private static final Properties PROPERTIES = Utils.getProperties();
+
+    private BenchmarkInputs() {
+        // empty
+    }
+
+    public static List<String> load(final String inputConfig) {
+        return Utils.getLinesFromFile(PROPERTIES.getProperty(inputConfig));
+    }
+
+    public static List<String> repeat(final List<String> lines, final int times) {
+        final List<String> repeated = new ArrayList<>(lines.size() * times);
+        for (int i = 0; i < times; i++) {
+            repeated.addAll(lines);
+        }
+        return repeated;
+    }
+}
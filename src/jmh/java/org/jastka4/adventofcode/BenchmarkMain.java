@@ -0,0 +1,58 @@
+package org.jastka4.adventofcode;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import java.io.IOException;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler attached, so allocation rates are reported next to the timings.
+ * Accepts the regular JMH command line, e.g. {@code java -jar target/benchmarks.jar Day4 -p scale=1,10}; the
+ * informational options {@code -h}, {@code -l}, {@code -lp}, {@code -lprof} and {@code -lrf} are answered
+ * like {@code org.openjdk.jmh.Main} does, without running anything.
+ */
+public class BenchmarkMain {
+
+    public static void main(final String... args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldListProfilers()) {
+            commandLineOptions.listProfilers();
+            return;
+        }
+        if (commandLineOptions.shouldListResultFormats()) {
+            commandLineOptions.listResultFormats();
+            return;
+        }
+
+        final Runner runner = new Runner(withGcProfiler(commandLineOptions));
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+        } else if (commandLineOptions.shouldListWithParams()) {
+            runner.listWithParams(commandLineOptions);
+        } else {
+            runner.run();
+        }
+    }
+
+    private static Options withGcProfiler(final CommandLineOptions commandLineOptions) {
+        for (ProfilerConfig profiler : commandLineOptions.getProfilers()) {
+            if (profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName())) {
+                return commandLineOptions;
+            }
+        }
+        return new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package org.jastka4.adventofcode.edition2020;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day1Benchmark {
+    private static final int SUM = 2020;
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day1 day1 = new Day1();
+    private List<String> lines;
+    private int[] expenses;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        final List<String> original = BenchmarkInputs.load("input.2020.day1");
+        // entries above the target sum can never be part of an answer, so padding with them keeps the answer stable
+        lines = new ArrayList<>(original);
+        for (int i = original.size(); i < original.size() * scale; i++) {
+            lines.add(String.valueOf(SUM + 1 + i % 10_000));
+        }
+        expenses = parse();
+        buffer = ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public int[] parse() {
+        return day1.parse(lines);
+    }
+
+    @Benchmark
+    public int[] parseMapped() {
+        return Utils.parseInts(buffer);
+    }
+
+    @Benchmark
+    public long solve1() {
+        return day1.solve1(expenses, SUM);
+    }
+
+    @Benchmark
+    public long solve2() {
+        return day1.solve2(expenses, SUM);
+    }
+
+    @Benchmark
+    public ExpenseIndex index() {
+        final ExpenseIndex index = new ExpenseIndex(SUM);
+        for (int expense : expenses) {
+            index.add(expense);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,72 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day1Benchmark {
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day1 day1 = new Day1();
+    private List<String> lines;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        final List<String> original = BenchmarkInputs.load("input.2022.day1");
+        lines = new ArrayList<>();
+        for (int i = 0; i < scale; i++) {
+            lines.addAll(original);
+            lines.add("");
+        }
+        buffer = ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public TopK parse() {
+        return day1.parse(lines);
+    }
+
+    @Benchmark
+    public int solve() {
+        return day1.solve(lines);
+    }
+
+    @Benchmark
+    public int solve2() {
+        return day1.solve2(lines);
+    }
+
+    @Benchmark
+    public TopK scan() {
+        return Day1.getTopElves(buffer, 3, 1);
+    }
+
+    @Benchmark
+    public TopK scanParallel() {
+        return Day1.getTopElves(buffer, 3, Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,56 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day2Benchmark {
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day2 day2 = new Day2();
+    private List<String> lines;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkInputs.repeat(BenchmarkInputs.load("input.2022.day2"), scale);
+        buffer = ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public long solve() {
+        return day2.solve(lines);
+    }
+
+    @Benchmark
+    public long solve2() {
+        return day2.solve2(lines);
+    }
+
+    @Benchmark
+    public long[] countRounds() {
+        return Day2.countRounds(buffer);
+    }
+}
@@ -0,0 +1,47 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day3Benchmark {
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day3 day3 = new Day3();
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkInputs.repeat(BenchmarkInputs.load("input.2022.day3"), scale);
+    }
+
+    @Benchmark
+    public int solve() {
+        return day3.solve(lines);
+    }
+
+    @Benchmark
+    public int solve2() {
+        return day3.solve2(lines);
+    }
+}
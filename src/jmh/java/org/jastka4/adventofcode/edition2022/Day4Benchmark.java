@@ -0,0 +1,68 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day4Benchmark {
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day4 day4 = new Day4();
+    private List<String> lines;
+    private ByteBuffer buffer;
+    private SectionAssignments assignments;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkInputs.repeat(BenchmarkInputs.load("input.2022.day4"), scale);
+        buffer = ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+        assignments = parse();
+    }
+
+    @Benchmark
+    public SectionAssignments parse() {
+        return SectionAssignments.parse(lines);
+    }
+
+    @Benchmark
+    public SectionAssignments parseBytes() {
+        return SectionAssignments.parse(buffer);
+    }
+
+    @Benchmark
+    public SectionAssignments.Counts count() {
+        return assignments.count();
+    }
+
+    @Benchmark
+    public int solve() {
+        return day4.solve(assignments);
+    }
+
+    @Benchmark
+    public int solve2() {
+        return day4.solve2(assignments);
+    }
+}
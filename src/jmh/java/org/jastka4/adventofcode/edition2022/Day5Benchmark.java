@@ -0,0 +1,133 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day5Benchmark {
+
+    private static final int TIMELINE_INTERVAL = 64;
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day5 day5 = new Day5();
+    private List<String> lines;
+    private List<Day5.Move> moves;
+    private List<CrateStack> crates;
+    private ByteBuffer buffer;
+    private CrateTimeline timeline;
+
+    @Setup
+    public void setUp() {
+        final List<String> original = BenchmarkInputs.load("input.2022.day5");
+        final List<String> moveLines = new ArrayList<>();
+        final List<String> inverseLines = new ArrayList<>();
+        lines = new ArrayList<>();
+        for (String line : original) {
+            if (line.startsWith("move")) {
+                final String[] parts = line.split(" ");
+                moveLines.add(line);
+                inverseLines.add(0, "move " + parts[1] + " from " + parts[5] + " to " + parts[3]);
+            } else {
+                lines.add(line);
+            }
+        }
+        // undoing and replaying the log keeps every move valid and the answer unchanged
+        lines.addAll(moveLines);
+        for (int i = 1; i < scale; i++) {
+            lines.addAll(inverseLines);
+            lines.addAll(moveLines);
+        }
+        moves = Day5.getMoves(lines);
+        crates = Day5.getCrates(lines);
+        buffer = ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+        timeline = CrateTimeline.record(crates, moves, false, TIMELINE_INTERVAL);
+    }
+
+    @Benchmark
+    public List<CrateStack> parseCrates() {
+        return Day5.getCrates(lines);
+    }
+
+    @Benchmark
+    public List<Day5.Move> parseMoves() {
+        return Day5.getMoves(lines);
+    }
+
+    /**
+     * Both parts rearrange a copy of the prebuilt stacks, so the measurement includes that copy but no parsing.
+     */
+    @Benchmark
+    public String solve() {
+        return day5.solve(crates, moves);
+    }
+
+    @Benchmark
+    public String solve2() {
+        return day5.solve2(crates, moves);
+    }
+
+    @Benchmark
+    public String solveByTracing() {
+        return Day5.solveByTracing(crates, moves, false);
+    }
+
+    @Benchmark
+    public String solve2ByTracing() {
+        return Day5.solveByTracing(crates, moves, true);
+    }
+
+    @Benchmark
+    public CraneLog parseDrawing() {
+        return CraneLog.parse(buffer);
+    }
+
+    /**
+     * Parses the drawing and replays the moves while reading them, the streaming counterpart
+     * of {@link #parseMoves()} followed by {@link #solve()}.
+     */
+    @Benchmark
+    public String replay() {
+        return CraneLog.parse(buffer).replay(false);
+    }
+
+    @Benchmark
+    public String replay2() {
+        return CraneLog.parse(buffer).replay(true);
+    }
+
+    @Benchmark
+    public CrateTimeline recordTimeline() {
+        return CrateTimeline.record(crates, moves, false, TIMELINE_INTERVAL);
+    }
+
+    /**
+     * Tops after the move halfway through the log, compare with {@link #solve()} replaying every move.
+     */
+    @Benchmark
+    public String topsAfterMove() {
+        return timeline.topsAfter(timeline.size() / 2);
+    }
+}
@@ -0,0 +1,109 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class Day6Benchmark {
+
+    @Param({"1", "10", "1000"})
+    private int scale;
+
+    private final Day6 day6 = new Day6();
+    private String datastream;
+    private ByteBuffer bytes;
+    private Path capture;
+    private DistinctRunIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String original = BenchmarkInputs.load("input.2022.day6").get(0);
+        // a prefix without any marker makes the scan cover the whole scaled input before reaching the real one
+        datastream = "ab".repeat(original.length() / 2 * (scale - 1)) + original;
+        bytes = ByteBuffer.wrap(datastream.getBytes(StandardCharsets.ISO_8859_1));
+        capture = Files.createTempFile("day6", ".txt");
+        Files.write(capture, bytes.array());
+        index = DistinctRunIndex.build(datastream);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(capture);
+    }
+
+    @Benchmark
+    public int solve() {
+        return day6.solve(datastream, 4);
+    }
+
+    @Benchmark
+    public int solve2() {
+        return day6.solve(datastream, 14);
+    }
+
+    /**
+     * Scans the prebuilt bytes, so no copy of the datastream is measured.
+     */
+    @Benchmark
+    public long solveParallel() {
+        return day6.solveParallel(bytes, 4);
+    }
+
+    @Benchmark
+    public long solve2Parallel() {
+        return day6.solveParallel(bytes, 14);
+    }
+
+    /**
+     * Same scan out of a file, including the mapping of a window per chunk.
+     */
+    @Benchmark
+    public long solve2ParallelMapped() throws IOException {
+        return day6.solveParallel(capture, 14);
+    }
+
+    @Benchmark
+    public DistinctRunIndex buildIndex() {
+        return DistinctRunIndex.build(datastream);
+    }
+
+    /**
+     * Every marker size from 1 to 26 out of the prebuilt index, compare with a {@link #solve()} per size.
+     */
+    @Benchmark
+    public int firstMarkers() {
+        int sum = 0;
+        for (int markerSize = 1; markerSize <= 26; markerSize++) {
+            sum += index.firstMarker(markerSize);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] allMarkers() {
+        return index.markers(14);
+    }
+}
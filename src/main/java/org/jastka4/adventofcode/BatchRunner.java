@@ -0,0 +1,122 @@
+package org.jastka4.adventofcode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves every input file in a directory with the solver of one day, e.g. one input per account.
+ * <p>Usage: {@code BatchRunner <year> <day> <input directory> <output.csv> [threads]} - the files are solved
+ * concurrently on a fixed number of threads and every result is written and flushed to the CSV file as soon as it
+ * is known. Files that cannot be read, are empty or fail to solve get their error in the last column.
+ * The directory is listed lazily and the queue of pending files is bounded, so only the inputs being solved
+ * at the moment are held in memory.</p>
+ */
+public class BatchRunner {
+    private static final String CSV_HEADER = "file,part1,part2,parse_ms,solve_ms,error";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int QUEUED_PER_THREAD = 2;
+
+    private final Solver<?> solver;
+    private final int threads;
+
+    public BatchRunner(final Solver<?> solver, final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required, got " + threads);
+        }
+        this.solver = solver;
+        this.threads = threads;
+    }
+
+    @SuppressWarnings("java:S106")
+    public static void main(final String... args) throws IOException, InterruptedException {
+        final int year = Integer.parseInt(args[0]);
+        final int day = Integer.parseInt(args[1]);
+        final Path inputs = Paths.get(args[2]);
+        final Path output = Paths.get(args[3]);
+        final int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        final Solver<?> solver = Runner.findSolver(year, day);
+        if (solver == null) {
+            throw new IllegalArgumentException("No solution for " + year + " day " + day);
+        }
+
+        final long start = System.nanoTime();
+        final long files = new BatchRunner(solver, threads).run(inputs, output);
+        System.out.printf("Edition %d day %d: %d files in %.3f ms%n", year, day, files,
+                (System.nanoTime() - start) / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Solves every regular file in the directory and writes one CSV row per file, in order of completion.
+     *
+     * @return the number of files solved
+     */
+    public long run(final Path inputs, final Path output) throws IOException, InterruptedException {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+        long files = 0;
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             DirectoryStream<Path> directory = Files.newDirectoryStream(inputs, Files::isRegularFile)) {
+            writer.write(CSV_HEADER + "\n");
+            for (Path input : directory) {
+                executor.execute(() -> write(writer, solve(solver, input)));
+                files++;
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return files;
+    }
+
+    private static <T> String solve(final Solver<T> solver, final Path input) {
+        final String file = escape(input.getFileName().toString());
+        try {
+            final long start = System.nanoTime();
+            final List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                return String.format("%s,,,,,empty input", file);
+            }
+            final T parsed = solver.parse(lines);
+            final long parsedAt = System.nanoTime();
+            final Object part1 = solver.part1(parsed);
+            final Object part2 = solver.part2(parsed);
+            final long solvedAt = System.nanoTime();
+            return String.format(Locale.ROOT, "%s,%s,%s,%.3f,%.3f,", file, escape(String.valueOf(part1)),
+                    escape(String.valueOf(part2)), (parsedAt - start) / NANOS_PER_MILLI,
+                    (solvedAt - parsedAt) / NANOS_PER_MILLI);
+        } catch (final IOException | RuntimeException e) {
+            return String.format("%s,,,,,%s", file, escape(String.valueOf(e)));
+        }
+    }
+
+    private static void write(final Writer writer, final String row) {
+        synchronized (writer) {
+            try {
+                writer.write(row);
+                writer.write('\n');
+                writer.flush();
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static String escape(final String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
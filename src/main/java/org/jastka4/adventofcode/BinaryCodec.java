@@ -0,0 +1,83 @@
+package org.jastka4.adventofcode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes a parsed puzzle input to a compact binary form and reads it back, see {@link ParsedInputCache}.
+ *
+ * @param <T> parsed representation of the puzzle input
+ */
+public interface BinaryCodec<T> {
+
+    BinaryCodec<int[]> INT_ARRAY = new BinaryCodec<>() {
+        @Override
+        public long size(final int[] values) {
+            return Integer.BYTES + (long) values.length * Integer.BYTES;
+        }
+
+        @Override
+        public void write(final int[] values, final ByteBuffer buffer) {
+            writeInts(buffer, values, values.length);
+        }
+
+        @Override
+        public int[] read(final ByteBuffer buffer) {
+            return readInts(buffer);
+        }
+    };
+
+    BinaryCodec<long[]> LONG_ARRAY = new BinaryCodec<>() {
+        @Override
+        public long size(final long[] values) {
+            return Integer.BYTES + (long) values.length * Long.BYTES;
+        }
+
+        @Override
+        public void write(final long[] values, final ByteBuffer buffer) {
+            buffer.putInt(values.length);
+            buffer.asLongBuffer().put(values);
+            buffer.position(buffer.position() + values.length * Long.BYTES);
+        }
+
+        @Override
+        public long[] read(final ByteBuffer buffer) {
+            final long[] values = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Long.BYTES);
+            return values;
+        }
+    };
+
+    /**
+     * @return the exact number of bytes {@link #write(Object, ByteBuffer)} is going to use
+     */
+    long size(T value);
+
+    void write(T value, ByteBuffer buffer);
+
+    T read(ByteBuffer buffer);
+
+    /**
+     * Part of the cache key, so has to be bumped whenever the encoded form or the parsed model changes.
+     * Files written by another version are never read.
+     */
+    default int version() {
+        return 1;
+    }
+
+    /**
+     * Writes the length followed by the first {@code length} values with a single bulk copy.
+     */
+    static void writeInts(final ByteBuffer buffer, final int[] values, final int length) {
+        buffer.putInt(length);
+        buffer.asIntBuffer().put(values, 0, length);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+    }
+
+    static int[] readInts(final ByteBuffer buffer) {
+        final int[] values = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+        return values;
+    }
+}
@@ -0,0 +1,316 @@
+package org.jastka4.adventofcode;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generators of synthetic puzzle inputs in the format of every solved day, from a few KB to many GB.
+ * <p>The same year, day, size and seed always produce the same file. Inputs are written record by record,
+ * so generating a file takes constant memory, and always end with a complete record, so a file is at least
+ * as large as requested and at most one record larger.</p>
+ * <p>Usage: {@code InputGenerators <year> <day> <size> <file> [seed]} where the size may end with K, M or G.</p>
+ */
+public final class InputGenerators {
+    public static final long DEFAULT_SEED = 2020_2022L;
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final int STACKS = 9;
+    private static final int DRAWING_HEIGHT = 8;
+    private static final int MAX_MOVED = 30;
+    private static final String MARKER = "abcdefghijklmn";
+
+    private static final Map<String, Generator> GENERATORS = Map.of(
+            "2020.1", InputGenerators::expenses,
+            "2020.2", InputGenerators::passwords,
+            "2022.1", InputGenerators::calories,
+            "2022.2", InputGenerators::strategyGuide,
+            "2022.3", InputGenerators::rucksacks,
+            "2022.4", InputGenerators::sectionPairs,
+            "2022.5", InputGenerators::crates,
+            "2022.6", InputGenerators::datastream);
+
+    private InputGenerators() {
+        // empty
+    }
+
+    @SuppressWarnings("java:S106")
+    public static void main(final String... args) throws IOException {
+        final int year = Integer.parseInt(args[0]);
+        final int day = Integer.parseInt(args[1]);
+        final long bytes = parseSize(args[2]);
+        final Path file = Paths.get(args[3]);
+        final long seed = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_SEED;
+
+        final long written = generate(year, day, bytes, seed, file);
+        System.out.printf("%d day %d: %d bytes written to %s%n", year, day, written, file);
+    }
+
+    public static boolean exists(final int year, final int day) {
+        return GENERATORS.containsKey(year + "." + day);
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public static long generate(final int year, final int day, final long bytes, final long seed, final Path file)
+            throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            return generate(year, day, bytes, seed, stream);
+        }
+    }
+
+    public static long generate(final int year, final int day, final long bytes, final long seed,
+                                final OutputStream stream) throws IOException {
+        final Generator generator = GENERATORS.get(year + "." + day);
+        if (generator == null) {
+            throw new IllegalArgumentException("No generator for " + year + " day " + day);
+        }
+        final Output out = new Output(stream);
+        generator.generate(out, bytes, new SplittableRandom(seed));
+        out.flush();
+        return out.count;
+    }
+
+    public static long parseSize(final String size) {
+        final char unit = Character.toUpperCase(size.charAt(size.length() - 1));
+        final String number = Character.isDigit(unit) ? size : size.substring(0, size.length() - 1);
+        switch (unit) {
+            case 'K':
+                return Long.parseLong(number) << 10;
+            case 'M':
+                return Long.parseLong(number) << 20;
+            case 'G':
+                return Long.parseLong(number) << 30;
+            default:
+                return Long.parseLong(number);
+        }
+    }
+
+    /**
+     * 2020 day 1: one expense per line.
+     */
+    static void expenses(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        while (out.count < bytes) {
+            out.number(random.nextInt(1, 2020)).newLine();
+        }
+    }
+
+    /**
+     * 2020 day 2: {@code lo-hi c: password}, the password drawing its letters mostly from the policy character.
+     */
+    static void passwords(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        while (out.count < bytes) {
+            final int lo = random.nextInt(1, 10);
+            final int hi = random.nextInt(lo, lo + 10);
+            final char character = LETTERS.charAt(random.nextInt(26));
+            out.number(lo).write('-').number(hi).write(' ').write(character).write(':').write(' ');
+            final int length = random.nextInt(hi, hi + 10);
+            for (int i = 0; i < length; i++) {
+                out.write(random.nextBoolean() ? character : LETTERS.charAt(random.nextInt(26)));
+            }
+            out.newLine();
+        }
+    }
+
+    /**
+     * 2022 day 1: blocks of calories separated by blank lines.
+     */
+    static void calories(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        while (out.count < bytes) {
+            if (out.count > 0) {
+                out.newLine();
+            }
+            final int items = random.nextInt(1, 16);
+            for (int i = 0; i < items; i++) {
+                out.number(random.nextInt(1000, 60_000)).newLine();
+            }
+        }
+    }
+
+    /**
+     * 2022 day 2: one round per line, the opponent's shape and the second column.
+     */
+    static void strategyGuide(final Output out, final long bytes, final SplittableRandom random)
+            throws IOException {
+        while (out.count < bytes) {
+            out.write((char) ('A' + random.nextInt(3))).write(' ').write((char) ('X' + random.nextInt(3))).newLine();
+        }
+    }
+
+    /**
+     * 2022 day 3: groups of three rucksacks. Every rucksack gets its own letters, so the badge is the only item
+     * the group shares, and only one of them occurs in both compartments.
+     */
+    static void rucksacks(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        final char[] letters = LETTERS.toCharArray();
+        final int pool = (letters.length - 1) / 3;
+        final int side = (pool - 1) / 2;
+        while (out.count < bytes) {
+            shuffle(letters, random);
+            final char badge = letters[letters.length - 1];
+            for (int rucksack = 0; rucksack < 3; rucksack++) {
+                final int first = rucksack * pool;
+                final char common = letters[first];
+                final int half = random.nextInt(2, 25);
+                final char[] left = new char[half];
+                final char[] right = new char[half];
+                left[0] = common;
+                left[1] = badge;
+                right[0] = common;
+                for (int i = 2; i < half; i++) {
+                    left[i] = letters[first + 1 + random.nextInt(side)];
+                }
+                for (int i = 1; i < half; i++) {
+                    right[i] = letters[first + 1 + side + random.nextInt(side)];
+                }
+                shuffle(left, random);
+                shuffle(right, random);
+                out.write(left).write(right).newLine();
+            }
+        }
+    }
+
+    /**
+     * 2022 day 4: pairs of section ranges.
+     */
+    static void sectionPairs(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        while (out.count < bytes) {
+            final int a = random.nextInt(1, 100);
+            final int b = random.nextInt(a, 100);
+            final int c = random.nextInt(1, 100);
+            final int d = random.nextInt(c, 100);
+            out.number(a).write('-').number(b).write(',').number(c).write('-').number(d).newLine();
+        }
+    }
+
+    /**
+     * 2022 day 5: a drawing of nine stacks followed by moves. No move empties a stack, so every stack
+     * has a crate on top at the end.
+     */
+    static void crates(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        final int[] heights = new int[STACKS];
+        for (int stack = 0; stack < STACKS; stack++) {
+            heights[stack] = random.nextInt(2, DRAWING_HEIGHT + 1);
+        }
+        for (int row = DRAWING_HEIGHT; row > 0; row--) {
+            int last = STACKS;
+            while (last > 0 && heights[last - 1] < row) {
+                last--;
+            }
+            for (int stack = 0; stack < last; stack++) {
+                if (stack > 0) {
+                    out.write(' ');
+                }
+                if (heights[stack] >= row) {
+                    out.write('[').write((char) ('A' + random.nextInt(26))).write(']');
+                } else {
+                    out.write(' ').write(' ').write(' ');
+                }
+            }
+            out.newLine();
+        }
+        for (int stack = 1; stack <= STACKS; stack++) {
+            out.write(stack > 1 ? "   " : " ").number(stack);
+        }
+        out.write(' ').newLine().newLine();
+
+        while (out.count < bytes) {
+            int from = random.nextInt(STACKS);
+            while (heights[from] < 2) {
+                from = random.nextInt(STACKS);
+            }
+            final int to = (from + random.nextInt(1, STACKS)) % STACKS;
+            final int quantity = random.nextInt(1, Math.min(heights[from] - 1, MAX_MOVED) + 1);
+            heights[from] -= quantity;
+            heights[to] += quantity;
+            out.write("move ").number(quantity).write(" from ").number(from + 1).write(" to ").number(to + 1)
+                    .newLine();
+        }
+    }
+
+    /**
+     * 2022 day 6: a single line that only uses three letters, so the start-of-packet and start-of-message markers
+     * are both found at the very end and a solver has to scan the whole stream.
+     */
+    static void datastream(final Output out, final long bytes, final SplittableRandom random) throws IOException {
+        while (out.count < bytes - MARKER.length() - 1) {
+            out.write((char) ('x' + random.nextInt(3)));
+        }
+        out.write(MARKER).newLine();
+    }
+
+    private static void shuffle(final char[] letters, final SplittableRandom random) {
+        for (int i = letters.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final char letter = letters[i];
+            letters[i] = letters[j];
+            letters[j] = letter;
+        }
+    }
+
+    @FunctionalInterface
+    interface Generator {
+        void generate(Output out, long bytes, SplittableRandom random) throws IOException;
+    }
+
+    /**
+     * Buffered ASCII output that keeps count of the bytes written.
+     */
+    static final class Output {
+        private final OutputStream stream;
+        private final byte[] digits = new byte[20];
+        private long count;
+
+        Output(final OutputStream stream) {
+            this.stream = new BufferedOutputStream(stream, 1 << 16);
+        }
+
+        Output write(final char character) throws IOException {
+            stream.write(character);
+            count++;
+            return this;
+        }
+
+        Output write(final char[] characters) throws IOException {
+            for (char character : characters) {
+                write(character);
+            }
+            return this;
+        }
+
+        Output write(final String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                write(text.charAt(i));
+            }
+            return this;
+        }
+
+        Output number(final int value) throws IOException {
+            int remaining = value;
+            int length = 0;
+            do {
+                digits[length++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining > 0);
+            while (length > 0) {
+                stream.write(digits[--length]);
+                count++;
+            }
+            return this;
+        }
+
+        Output newLine() throws IOException {
+            return write('\n');
+        }
+
+        void flush() throws IOException {
+            stream.flush();
+        }
+    }
+}
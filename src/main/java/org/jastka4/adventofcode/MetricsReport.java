@@ -0,0 +1,81 @@
+package org.jastka4.adventofcode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the per-phase metrics of a {@link Runner} run as CSV or, for files ending with {@code .json}, as JSON.
+ * <p>Every row is one phase of one day with its mean wall-clock time, CPU time and allocation,
+ * the input size and the resulting throughput in MB/s and records/s.</p>
+ */
+public class MetricsReport {
+    private static final String CSV_HEADER = "year,day,phase,runs,wall_ms,cpu_ms,allocated_bytes,input_bytes,records,"
+            + "mb_per_s,records_per_s";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private MetricsReport() {
+        // empty
+    }
+
+    public static void write(final Path file, final int year, final List<Runner.DayResult> results)
+            throws IOException {
+        final boolean json = file.getFileName().toString().endsWith(".json");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(json ? "[\n" : CSV_HEADER + "\n");
+            boolean first = true;
+            for (Runner.DayResult result : results) {
+                for (PhaseMetrics phase : result.getPhases()) {
+                    if (phase.getRuns() == 0) {
+                        continue;
+                    }
+                    if (json) {
+                        writer.write(first ? "" : ",\n");
+                        writer.write(toJson(year, result, phase));
+                    } else {
+                        writer.write(toCsv(year, result, phase));
+                        writer.write("\n");
+                    }
+                    first = false;
+                }
+            }
+            if (json) {
+                writer.write("\n]\n");
+            }
+        }
+    }
+
+    private static String toCsv(final int year, final Runner.DayResult result, final PhaseMetrics phase) {
+        return String.format(Locale.ROOT, "%d,%d,%s,%d,%.6f,%.6f,%.0f,%d,%d,%.3f,%.3f",
+                year, result.getNumber(), phase.getName(), phase.getRuns(),
+                phase.getMeanWallNanos() / NANOS_PER_MILLI, phase.getMeanCpuNanos() / NANOS_PER_MILLI,
+                phase.getMeanAllocatedBytes(), result.getInputBytes(), result.getRecords(),
+                megabytesPerSecond(result, phase), recordsPerSecond(result, phase));
+    }
+
+    private static String toJson(final int year, final Runner.DayResult result, final PhaseMetrics phase) {
+        return String.format(Locale.ROOT, "  {\"year\": %d, \"day\": %d, \"phase\": \"%s\", \"runs\": %d, "
+                        + "\"wall_ms\": %.6f, \"cpu_ms\": %.6f, \"allocated_bytes\": %.0f, \"input_bytes\": %d, "
+                        + "\"records\": %d, \"mb_per_s\": %.3f, \"records_per_s\": %.3f}",
+                year, result.getNumber(), phase.getName(), phase.getRuns(),
+                phase.getMeanWallNanos() / NANOS_PER_MILLI, phase.getMeanCpuNanos() / NANOS_PER_MILLI,
+                phase.getMeanAllocatedBytes(), result.getInputBytes(), result.getRecords(),
+                megabytesPerSecond(result, phase), recordsPerSecond(result, phase));
+    }
+
+    private static double megabytesPerSecond(final Runner.DayResult result, final PhaseMetrics phase) {
+        return phase.getMeanWallNanos() == 0 ? 0
+                : result.getInputBytes() / BYTES_PER_MB / (phase.getMeanWallNanos() / NANOS_PER_SECOND);
+    }
+
+    private static double recordsPerSecond(final Runner.DayResult result, final PhaseMetrics phase) {
+        return phase.getMeanWallNanos() == 0 ? 0
+                : result.getRecords() / (phase.getMeanWallNanos() / NANOS_PER_SECOND);
+    }
+}
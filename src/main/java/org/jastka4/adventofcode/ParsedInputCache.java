@@ -0,0 +1,115 @@
+package org.jastka4.adventofcode;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Keeps the parsed form of puzzle inputs in binary files, so that inputs seen before are memory-mapped
+ * and decoded instead of being parsed from text again.
+ * <p>Cache files are named after the solver, the {@link BinaryCodec#version() codec version} and the SHA-256
+ * of the source file, so any change to the input or to the codec invalidates them. A file that still cannot be
+ * decoded is treated as a miss. They are written to the directory given by the {@code aoc.cache.dir} system property,
+ * {@code <java.io.tmpdir>/aoc-cache} by default.</p>
+ */
+public class ParsedInputCache {
+    private static final String CACHE_DIR_PROPERTY = "aoc.cache.dir";
+    private static final int MAGIC = 0x414F4343;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+
+    public ParsedInputCache() {
+        this(Paths.get(System.getProperty(CACHE_DIR_PROPERTY,
+                Paths.get(System.getProperty("java.io.tmpdir"), "aoc-cache").toString())));
+    }
+
+    public ParsedInputCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the parsed input, read from the cache if possible. Solvers without a {@link Solver#codec() codec},
+     * any I/O problem with the cache and cache files that fail to decode fall back to parsing the input.
+     * <p>The input is mapped once: the same buffer is hashed for the cache key and, on a miss,
+     * handed to {@link Solver#parse(ByteBuffer)}.</p>
+     */
+    public <T> T load(final String inputPath, final Solver<T> solver) {
+        final ByteBuffer source = Utils.mapFile(inputPath);
+        final BinaryCodec<T> codec = solver.codec();
+        if (codec == null) {
+            return solver.parse(source);
+        }
+
+        try {
+            final Path cacheFile = directory.resolve(
+                    solver.getClass().getName() + "-v" + codec.version() + "-" + hash(source) + ".bin");
+            if (Files.isRegularFile(cacheFile)) {
+                final T cached = read(cacheFile, codec);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            final T parsed = solver.parse(source);
+            write(cacheFile, codec, parsed);
+            return parsed;
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return solver.parse(source);
+        }
+    }
+
+    private static <T> T read(final Path cacheFile, final BinaryCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            try {
+                final T value = codec.read(buffer);
+                return buffer.hasRemaining() ? null : value;
+            } catch (final RuntimeException e) {
+                // written by an incompatible codec or corrupted, parse the input again
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so that concurrent runs never see a partially written cache file.
+     */
+    private <T> void write(final Path cacheFile, final BinaryCodec<T> codec, final T value) throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + codec.size(value));
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            codec.write(value, buffer);
+            buffer.force();
+        }
+        Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String hash(final ByteBuffer source) throws NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(source.duplicate());
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
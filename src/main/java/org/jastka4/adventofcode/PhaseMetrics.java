@@ -0,0 +1,57 @@
+package org.jastka4.adventofcode;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Accumulates wall-clock time, CPU time and bytes allocated by the current thread over every run of a phase
+ * (reading, parsing or answering a part).
+ */
+public class PhaseMetrics {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private int runs;
+
+    public PhaseMetrics(final String name) {
+        this.name = name;
+    }
+
+    public <R> R measure(final Supplier<R> phase) {
+        final long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        final long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        final long wallBefore = System.nanoTime();
+
+        final R result = phase.get();
+
+        wallNanos += System.nanoTime() - wallBefore;
+        cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuBefore;
+        allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        runs++;
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public double getMeanWallNanos() {
+        return runs == 0 ? 0 : (double) wallNanos / runs;
+    }
+
+    public double getMeanCpuNanos() {
+        return runs == 0 ? 0 : (double) cpuNanos / runs;
+    }
+
+    public double getMeanAllocatedBytes() {
+        return runs == 0 ? 0 : (double) allocatedBytes / runs;
+    }
+}
@@ -0,0 +1,91 @@
+package org.jastka4.adventofcode;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Parses a puzzle input once and answers both parts, and any other query, from the same parsed model.
+ * <p>Solvers must treat the model as read-only, which is what allows the parts to run at the same time.</p>
+ *
+ * @param <T> parsed representation of the puzzle input
+ */
+public final class Pipeline<T> {
+    private final Solver<T> solver;
+    private final T input;
+
+    private Pipeline(final Solver<T> solver, final T input) {
+        this.solver = solver;
+        this.input = input;
+    }
+
+    public static <T> Pipeline<T> parse(final Solver<T> solver, final List<String> lines) {
+        return new Pipeline<>(solver, solver.parse(lines));
+    }
+
+    /**
+     * Starts from an input that was already parsed, e.g. by a loader that bypasses {@link Solver#parse(List)}.
+     */
+    public static <T> Pipeline<T> of(final Solver<T> solver, final T input) {
+        return new Pipeline<>(solver, input);
+    }
+
+    public static <T> Pipeline<T> load(final Solver<T> solver, final String inputPath) {
+        return parse(solver, Utils.getLinesFromFile(inputPath));
+    }
+
+    public static <T> Pipeline<T> load(final Solver<T> solver, final String inputPath, final ParsedInputCache cache) {
+        return new Pipeline<>(solver, cache.load(inputPath, solver));
+    }
+
+    public T getInput() {
+        return input;
+    }
+
+    public Object part1() {
+        return solver.part1(input);
+    }
+
+    public Object part2() {
+        return solver.part2(input);
+    }
+
+    public <R> R query(final Function<? super T, R> query) {
+        return query.apply(input);
+    }
+
+    public Answers solveConcurrently() {
+        return solveConcurrently(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Answers both parts at the same time on the given executor.
+     */
+    public Answers solveConcurrently(final Executor executor) {
+        final CompletableFuture<Object> part1 = CompletableFuture.supplyAsync(this::part1, executor);
+        final CompletableFuture<Object> part2 = CompletableFuture.supplyAsync(this::part2, executor);
+        return new Answers(part1.join(), part2.join());
+    }
+
+    public static class Answers {
+        private final Object part1;
+        private final Object part2;
+
+        Answers(final Object part1, final Object part2) {
+            this.part1 = part1;
+            this.part2 = part2;
+        }
+
+        public Object getPart1() {
+            return part1;
+        }
+
+        public Object getPart2() {
+            return part2;
+        }
+    }
+}
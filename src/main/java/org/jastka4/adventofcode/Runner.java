@@ -0,0 +1,208 @@
+package org.jastka4.adventofcode;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs every day of an edition in a single JVM, concurrently on a fork-join pool, printing each day's answers
+ * as soon as it completes.
+ * <p>Usage: {@code Runner <year> [repeat] [warmup] [--cache]} - every day is first run {@code warmup} times without
+ * measuring and then {@code repeat} times, reporting the mean latency of parsing and of both parts.
+ * With {@code --cache} parsed inputs are loaded through the {@link ParsedInputCache}, with {@code --report=<file>}
+ * the metrics of every phase are written to a CSV or JSON file, see {@link MetricsReport}.</p>
+ */
+public class Runner {
+    private static final String BASE_PACKAGE = "org.jastka4.adventofcode.edition";
+    private static final int MAX_DAY = 25;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String CACHE_OPTION = "--cache";
+    private static final String REPORT_OPTION = "--report=";
+
+    /**
+     * Starts the line of every answered day, which is printed as soon as the day completes.
+     */
+    public static final String ANSWER_PREFIX = "Day ";
+
+    @SuppressWarnings("java:S106")
+    public static void main(final String... args) throws InterruptedException {
+        final List<String> arguments = new ArrayList<>(List.of(args));
+        final ParsedInputCache cache = arguments.remove(CACHE_OPTION) ? new ParsedInputCache() : null;
+        final Path report = arguments.stream()
+                .filter(argument -> argument.startsWith(REPORT_OPTION))
+                .findFirst()
+                .map(argument -> Paths.get(argument.substring(REPORT_OPTION.length())))
+                .orElse(null);
+        arguments.removeIf(argument -> argument.startsWith(REPORT_OPTION));
+        final int year = Integer.parseInt(arguments.get(0));
+        final int repeat = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : 1;
+        final int warmup = arguments.size() > 2 ? Integer.parseInt(arguments.get(2)) : 0;
+
+        final List<DayResult> results = new ArrayList<>();
+        final long start = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool();
+        try {
+            final List<Day> days = findDays(year);
+            final List<ForkJoinTask<DayResult>> tasks = new ArrayList<>();
+            for (Day day : days) {
+                tasks.add(pool.submit(() -> {
+                    final DayResult result = run(day, repeat, warmup, cache);
+                    System.out.println(result);
+                    return result;
+                }));
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    results.add(tasks.get(i).get());
+                } catch (final ExecutionException e) {
+                    System.err.printf("Day %2d failed: %s%n", days.get(i).number, e.getCause());
+                    e.getCause().printStackTrace();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        final long wallClock = System.nanoTime() - start;
+
+        System.out.printf("Edition %d: %d days in %.3f ms%n", year, results.size(), wallClock / NANOS_PER_MILLI);
+
+        if (report != null) {
+            try {
+                MetricsReport.write(report, year, results);
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    static List<Day> findDays(final int year) {
+        final Properties prop = Utils.getProperties();
+        final List<Day> days = new ArrayList<>();
+        for (int number = 1; number <= MAX_DAY; number++) {
+            final Solver<?> solver = findSolver(year, number);
+            if (solver != null) {
+                days.add(new Day(number, solver, prop.getProperty("input." + year + ".day" + number)));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * @return a new solver of the given day, or {@code null} if the day has no solution (yet)
+     */
+    static Solver<?> findSolver(final int year, final int number) {
+        try {
+            final Class<?> type = Class.forName(BASE_PACKAGE + year + ".Day" + number);
+            if (Solver.class.isAssignableFrom(type)) {
+                return (Solver<?>) type.getDeclaredConstructor().newInstance();
+            }
+        } catch (final ClassNotFoundException e) {
+            // no solution for this day (yet)
+        } catch (final ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    static DayResult run(final Day day, final int repeat, final int warmup, final ParsedInputCache cache) {
+        return run(day.number, day.solver, day.input, repeat, warmup, cache);
+    }
+
+    /**
+     * Reading maps the input to size it and count its records and, without a cache, also reads its lines once,
+     * so only parsing is repeated. With a cache every run measures loading the parsed input from it.
+     */
+    private static <T> DayResult run(final int number, final Solver<T> solver, final String inputPath,
+                                     final int repeat, final int warmup, final ParsedInputCache cache) {
+        final DayResult result = new DayResult(number);
+        final List<String> lines = result.read.measure(() -> {
+            final ByteBuffer source = Utils.mapFile(inputPath);
+            result.inputBytes = source.limit();
+            result.records = countLines(source);
+            return cache == null ? Utils.getLinesFromFile(inputPath) : null;
+        });
+        for (int i = 0; i < warmup; i++) {
+            final T input = cache == null ? solver.parse(lines) : cache.load(inputPath, solver);
+            solver.part1(input);
+            solver.part2(input);
+        }
+        for (int i = 0; i < repeat; i++) {
+            final T input = result.parse.measure(() -> cache == null ? solver.parse(lines) : cache.load(inputPath, solver));
+            result.part1 = result.part1Metrics.measure(() -> solver.part1(input));
+            result.part2 = result.part2Metrics.measure(() -> solver.part2(input));
+        }
+        return result;
+    }
+
+    private static long countLines(final ByteBuffer source) {
+        final int limit = source.limit();
+        long lines = limit > 0 && source.get(limit - 1) != '\n' ? 1 : 0;
+        for (int i = 0; i < limit; i++) {
+            if (source.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    static class Day {
+        final int number;
+        final Solver<?> solver;
+        final String input;
+
+        Day(final int number, final Solver<?> solver, final String input) {
+            this.number = number;
+            this.solver = solver;
+            this.input = input;
+        }
+    }
+
+    public static class DayResult {
+        private final int number;
+        private final PhaseMetrics read = new PhaseMetrics("read");
+        private final PhaseMetrics parse = new PhaseMetrics("parse");
+        private final PhaseMetrics part1Metrics = new PhaseMetrics("part1");
+        private final PhaseMetrics part2Metrics = new PhaseMetrics("part2");
+        private Object part1;
+        private Object part2;
+        private long inputBytes;
+        private long records;
+
+        DayResult(final int number) {
+            this.number = number;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public List<PhaseMetrics> getPhases() {
+            return List.of(read, parse, part1Metrics, part2Metrics);
+        }
+
+        public long getInputBytes() {
+            return inputBytes;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(ANSWER_PREFIX
+                            + "%2d: part 1 = %s, part 2 = %s (parse %.3f ms, part 1 %.3f ms, part 2 %.3f ms)",
+                    number, part1, part2, parse.getMeanWallNanos() / NANOS_PER_MILLI,
+                    part1Metrics.getMeanWallNanos() / NANOS_PER_MILLI, part2Metrics.getMeanWallNanos() / NANOS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.jastka4.adventofcode;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Runs every day with a generator on synthetic inputs of growing size, see {@link InputGenerators}.
+ * <p>Usage: {@code ScaleTest [max size] [first size] [growth] [seed]} - sizes start at {@code first size} (1K by
+ * default) and are multiplied by {@code growth} (8 by default) up to {@code max size} (256M by default). Run it
+ * with a fixed {@code -Xmx}, e.g. through {@code mvn -Pscale verify -Dscale.xmx=512m}.</p>
+ * <p>For every size the input is mapped, parsed straight from its bytes, see {@link Solver#parse(ByteBuffer)},
+ * and both parts answered, reporting the throughput, the peak heap usage (the sum of the peaks of every heap pool)
+ * and the growth of the time per byte compared to the previous size, which stays around 1 as long as the day
+ * scales linearly. A day that runs out of memory or fails is reported and not run at larger sizes. Inputs above
+ * 2 GiB do not fit into a single mapped buffer and fail with an {@code IllegalArgumentException},
+ * see {@link Utils#mapFile(String)}.</p>
+ */
+public class ScaleTest {
+    private static final int[] YEARS = {2020, 2022};
+    private static final int MAX_DAY = 25;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private ScaleTest() {
+        // empty
+    }
+
+    @SuppressWarnings("java:S106")
+    public static void main(final String... args) throws IOException {
+        final long maxBytes = InputGenerators.parseSize(args.length > 0 ? args[0] : "256M");
+        final long firstBytes = InputGenerators.parseSize(args.length > 1 ? args[1] : "1K");
+        final int growth = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        final long seed = args.length > 3 ? Long.parseLong(args[3]) : InputGenerators.DEFAULT_SEED;
+        if (growth < 2) {
+            throw new IllegalArgumentException("Sizes have to grow by a factor of at least 2, got " + growth);
+        }
+
+        System.err.printf("max heap %.1f MB%n", Runtime.getRuntime().maxMemory() / BYTES_PER_MB);
+        System.out.println("year,day,bytes,seconds,mb_per_s,peak_heap_mb,time_per_byte_growth,result");
+        final Path file = Files.createTempFile("aoc-scale", ".txt");
+        try {
+            for (int year : YEARS) {
+                for (int day = 1; day <= MAX_DAY; day++) {
+                    final Solver<?> solver = Runner.findSolver(year, day);
+                    if (solver != null && InputGenerators.exists(year, day)) {
+                        run(year, day, solver, file, firstBytes, maxBytes, growth, seed);
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @SuppressWarnings("java:S106")
+    private static void run(final int year, final int day, final Solver<?> solver, final Path file,
+                            final long firstBytes, final long maxBytes, final int growth, final long seed)
+            throws IOException {
+        double previousNanosPerByte = Double.NaN;
+        for (long size = firstBytes; size <= maxBytes; size *= growth) {
+            final long bytes = InputGenerators.generate(year, day, size, seed, file);
+            resetPeakHeap();
+            final long start = System.nanoTime();
+            String result;
+            boolean failed = false;
+            try {
+                result = solve(solver, file);
+            } catch (final OutOfMemoryError | RuntimeException e) {
+                result = e.getClass().getSimpleName();
+                failed = true;
+            }
+            final long nanos = System.nanoTime() - start;
+            final double nanosPerByte = (double) nanos / bytes;
+            System.out.printf(Locale.ROOT, "%d,%d,%d,%.3f,%.1f,%.1f,%.2f,%s%n", year, day, bytes,
+                    nanos / NANOS_PER_SECOND, bytes / BYTES_PER_MB / (nanos / NANOS_PER_SECOND),
+                    peakHeap() / BYTES_PER_MB, nanosPerByte / previousNanosPerByte, result);
+            if (failed) {
+                return;
+            }
+            previousNanosPerByte = nanosPerByte;
+        }
+    }
+
+    private static <T> String solve(final Solver<T> solver, final Path file) {
+        final T input = solver.parse(Utils.mapFile(file.toString()));
+        return solver.part1(input) + " " + solver.part2(input);
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
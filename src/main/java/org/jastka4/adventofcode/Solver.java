@@ -0,0 +1,35 @@
+package org.jastka4.adventofcode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A single puzzle day: the input is parsed once and both parts are answered from the parsed form.
+ *
+ * @param <T> parsed representation of the puzzle input
+ */
+public interface Solver<T> {
+
+    T parse(List<String> lines);
+
+    /**
+     * Parses the input straight from its bytes, e.g. a mapped file. By default the bytes are decoded into lines
+     * for {@link #parse(List)}, days with a byte-level parser skip the lines altogether.
+     */
+    default T parse(final ByteBuffer input) {
+        return parse(StandardCharsets.UTF_8.decode(input.duplicate()).toString().lines().collect(Collectors.toList()));
+    }
+
+    Object part1(T input);
+
+    Object part2(T input);
+
+    /**
+     * @return the codec used to cache the parsed input, or {@code null} if it is not worth caching
+     */
+    default BinaryCodec<T> codec() {
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jastka4.adventofcode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time from starting a fresh JVM with an edition jar until it prints its first answer, i.e. until
+ * the first day completes, once without and once with an AppCDS archive created by a training run.
+ * <p>Usage: {@code StartupTimer <jar> <archive> [runs]} - every variant is started {@code runs} times
+ * and the minimum and median times are reported.</p>
+ */
+public class StartupTimer {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private StartupTimer() {
+        // empty
+    }
+
+    @SuppressWarnings("java:S106")
+    public static void main(final String... args) throws IOException, InterruptedException {
+        final Path jar = Paths.get(args[0]);
+        final Path archive = Paths.get(args[1]);
+        final int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        report(jar, "without archive", measure(List.of("-Xshare:auto"), jar, runs));
+        if (Files.isRegularFile(archive)) {
+            report(jar, "with archive", measure(List.of("-XX:SharedArchiveFile=" + archive), jar, runs));
+        } else {
+            System.out.printf("%s: no archive at %s, run the training run first%n", jar.getFileName(), archive);
+        }
+    }
+
+    static long[] measure(final List<String> options, final Path jar, final int runs)
+            throws IOException, InterruptedException {
+        final long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            times[i] = timeToFirstAnswer(options, jar);
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static long timeToFirstAnswer(final List<String> options, final Path jar)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        command.add("-jar");
+        command.add(jar.toString());
+
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long elapsed = -1;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (elapsed < 0 && line.startsWith(Runner.ANSWER_PREFIX)) {
+                    elapsed = System.nanoTime() - start;
+                }
+            }
+        }
+        process.waitFor();
+        if (elapsed < 0) {
+            throw new IllegalStateException(jar + " exited with " + process.exitValue() + " without an answer");
+        }
+        return elapsed;
+    }
+
+    @SuppressWarnings("java:S106")
+    private static void report(final Path jar, final String variant, final long[] times) {
+        System.out.printf("%s %s: first answer after min %.1f ms, median %.1f ms (%d runs)%n",
+                jar.getFileName(), variant, times[0] / NANOS_PER_MILLI, times[times.length / 2] / NANOS_PER_MILLI,
+                times.length);
+    }
+}
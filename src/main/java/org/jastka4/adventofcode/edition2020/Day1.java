@@ -1,10 +1,12 @@
 package org.jastka4.adventofcode.edition2020;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Pipeline;
+import org.jastka4.adventofcode.Solver;
+
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Properties;
-import java.util.Set;
 
 /**
  * <h2>--- Day 1: Report Repair ---</h2>
@@ -47,57 +49,65 @@ import java.util.Set;
  * <code><em>241861950</em></code>.</p>
  * <p>In your expense report, <em>what is the product of the three entries that sum to <code>2020</code>?</em></p>
  */
-public class Day1 {
+public class Day1 implements Solver<int[]> {
     private static final String INPUT_CONFIG = "input.2020.day1";
     private static final int SUM = 2020;
 
     @SuppressWarnings("java:S106")
     public static void main(final String... args) {
-        final Day1 day1 = new Day1();
         final Properties prop = Utils.getProperties();
-        final List<Integer> integers = Utils.getIntegersFromFile(prop.getProperty(INPUT_CONFIG));
+        final int[] expenses = Utils.getIntArrayFromFile(prop.getProperty(INPUT_CONFIG));
+        final Pipeline.Answers answers = Pipeline.of(new Day1(), expenses).solveConcurrently();
+
+        System.out.println(answers.getPart1());
+        System.out.println(answers.getPart2());
+    }
+
+    @Override
+    public int[] parse(final List<String> lines) {
+        return Utils.parseInts(lines);
+    }
+
+    @Override
+    public int[] parse(final ByteBuffer input) {
+        return Utils.parseInts(input);
+    }
+
+    @Override
+    public Object part1(final int[] expenses) {
+        return solve1(expenses, SUM);
+    }
+
+    @Override
+    public Object part2(final int[] expenses) {
+        return solve2(expenses, SUM);
+    }
 
-        day1.solve1(integers, SUM).forEach(System.out::println);
-        day1.solve2(integers, SUM).forEach(System.out::println);
+    @Override
+    public BinaryCodec<int[]> codec() {
+        return BinaryCodec.INT_ARRAY;
     }
 
     /**
      * Time complexity: O(n)
      * Space complexity: O(n)
      */
-    private List<Integer> solve1(final List<Integer> integers, final int sum) {
-        return getMultiplicationsOfIntegersThatSumUpToValue(integers, sum);
+    long solve1(final int[] expenses, final int sum) {
+        return solve(expenses, sum, 2);
     }
 
     /**
-     * Time complexity: O(n^2)
+     * Time complexity: O(n log n + n^2), where n is bounded by 3 * (sum + 1) for non-negative entries
      * Space complexity: O(n)
      */
-    private List<Integer> solve2(final List<Integer> integers, final int sum) {
-        final List<Integer> multiplications = new ArrayList<>();
-        for (int i = 0; i < integers.size() - 2; i++) {
-            final int temp = sum - integers.get(i);
-            final List<Integer> remainingIntegers = integers.subList(i + 1, integers.size() - 1);
-            for (Integer mul : getMultiplicationsOfIntegersThatSumUpToValue(remainingIntegers, temp)) {
-                multiplications.add(mul * integers.get(i));
-            }
-        }
-
-        return multiplications;
+    long solve2(final int[] expenses, final int sum) {
+        return solve(expenses, sum, 3);
     }
 
-    private List<Integer> getMultiplicationsOfIntegersThatSumUpToValue(final List<Integer> integers, final int value) {
-        final Set<Integer> sums = new HashSet<>();
-        final List<Integer> multiplications = new ArrayList<>();
-
-        for (Integer integer : integers) {
-            final Integer temp = value - integer;
-            if (sums.contains(temp)) {
-                multiplications.add(integer * (value - integer));
-            }
-            sums.add(integer);
-        }
-
-        return multiplications;
+    /**
+     * @return the product of the first {@code entries} expenses found that sum up to {@code sum}, or 0 if there are none
+     */
+    long solve(final int[] expenses, final int sum, final int entries) {
+        return KSum.product(KSum.find(expenses, entries, sum));
     }
 }
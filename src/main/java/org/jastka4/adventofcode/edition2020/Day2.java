@@ -1,15 +1,11 @@
 package org.jastka4.adventofcode.edition2020;
 
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.ImmutableTriple;
-import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.lang3.tuple.Triple;
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Solver;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * <h2>--- Day 2: Password Philosophy ---</h2>
@@ -61,116 +57,58 @@ import java.util.regex.Pattern;
  * </ul>
  * <p><em>How many passwords are valid</em> according to the new interpretation of the policies?</p>
  */
-public class Day2 {
+public class Day2 implements Solver<PasswordDatabase> {
 
     private static final String INPUT_CONFIG = "input.2020.day2";
 
     @SuppressWarnings("java:S106")
     public static void main(String... args) {
-        final Day2 day2 = new Day2();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
-        try {
-            System.out.println(day2.solve(allLines));
-            System.out.println(day2.solve2(allLines));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Time complexity: O(?) \\ TODO - check
-     * Space complexity: O(?)
-     */
-    private int solve(final List<String> allLines) throws Exception {
-        int validPasswords = 0;
-
-        for (String line : allLines) {
-            final Triple<Pair<Integer, Integer>, Character, String> entry = splitLine(line);
-            final int occurrences = countCharOccurrences(entry);
-            final Pair<Integer, Integer> range = getRange(entry);
-
-            if (occurrences >= range.getLeft() && occurrences <= range.getRight()) {
-                validPasswords++;
-            }
-        }
+        final List<ByteBuffer> chunks = Utils.mapChunks(prop.getProperty(INPUT_CONFIG), (byte) '\n');
+        final PasswordScanner.Counts counts = PasswordScanner.scan(chunks, Runtime.getRuntime().availableProcessors());
 
-        return validPasswords;
+        System.out.println(counts.getValidByCount());
+        System.out.println(counts.getValidByPosition());
     }
 
-    /**
-     * Time complexity: O(?) \\ TODO - check
-     * Space complexity: O(?)
-     */
-    private int solve2(final List<String> allLines) throws Exception {
-        int validPasswords = 0;
-
-        for (String line : allLines) {
-            final Triple<Pair<Integer, Integer>, Character, String> entry = splitLine(line);
-            final int occurrences = countCharOccurrencesAtPositions(entry);
-
-            if (occurrences == 1) {
-                validPasswords++;
-            }
-        }
-
-        return validPasswords;
+    @Override
+    public PasswordDatabase parse(final List<String> lines) {
+        return PasswordDatabase.parse(lines);
     }
 
-    private Triple<Pair<Integer, Integer>, Character, String> splitLine(final String line) throws Exception {
-        final Pattern pattern = Pattern.compile("(\\d*)-(\\d*) (\\w): (\\w*)");
-        final Matcher matcher = pattern.matcher(line);
-
-        if (matcher.find()) {
-            final Pair<Integer, Integer> range = findRange(matcher);
-            final Character character = matcher.group(3).charAt(0);
-            final String password = matcher.group(4);
-
-            return new ImmutableTriple<>(range, character, password);
-        } else {
-            throw new Exception("Line does not match the pattern!");
-        }
+    @Override
+    public PasswordDatabase parse(final ByteBuffer input) {
+        return PasswordDatabase.parse(input);
     }
 
-    private Pair<Integer, Integer> findRange(final Matcher matcher) {
-        final Integer r1 = Integer.parseInt(matcher.group(1));
-        final Integer r2 = Integer.parseInt(matcher.group(2));
-        return new ImmutablePair<>(r1, r2);
+    @Override
+    public Object part1(final PasswordDatabase database) {
+        return solve(database);
     }
 
-    private int countCharOccurrences(final Triple<Pair<Integer, Integer>, Character, String> entry) {
-        final char character = getCharacter(entry);
-        final String password = getPassword(entry);
-
-        return StringUtils.countMatches(password, character);
+    @Override
+    public Object part2(final PasswordDatabase database) {
+        return solve2(database);
     }
 
-    private int countCharOccurrencesAtPositions(final Triple<Pair<Integer, Integer>, Character, String> entry) {
-        int counter = 0;
-
-        final char character = getCharacter(entry);
-        final Pair<Integer, Integer> positions = getRange(entry);
-        final String password = getPassword(entry);
-
-        if (password.charAt(positions.getLeft() - 1) == character) {
-            counter++;
-        }
-        if (password.charAt(positions.getRight() - 1) == character) {
-            counter++;
-        }
-
-        return counter;
+    @Override
+    public BinaryCodec<PasswordDatabase> codec() {
+        return PasswordDatabase.CODEC;
     }
 
-    private Pair<Integer, Integer> getRange(final Triple<Pair<Integer, Integer>, Character, String> entry) {
-        return entry.getLeft();
-    }
-
-    private char getCharacter(final Triple<Pair<Integer, Integer>, Character, String> entry) {
-        return entry.getMiddle();
+    /**
+     * Time complexity: O(n), where n is the total length of the passwords
+     * Space complexity: O(1)
+     */
+    long solve(final PasswordDatabase database) {
+        return database.count(PasswordPolicy.OCCURRENCE_RANGE);
     }
 
-    private String getPassword(final Triple<Pair<Integer, Integer>, Character, String> entry) {
-        return entry.getRight();
+    /**
+     * Time complexity: O(m), where m is the number of passwords
+     * Space complexity: O(1)
+     */
+    long solve2(final PasswordDatabase database) {
+        return database.count(PasswordPolicy.EXACTLY_ONE_POSITION);
     }
 }
@@ -0,0 +1,101 @@
+package org.jastka4.adventofcode.edition2020;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Tells, as expense entries are appended one by one, as soon as two or three of them sum up to the target.
+ * <p>Entries are expected to be non-negative, so only values up to the target can take part in a sum. Besides the
+ * occurrences of those values the index keeps a table of every sum of two entries up to the target. A value is
+ * combined with the values seen before only the first and second time it occurs, so a stream with {@code d}
+ * distinct values up to the target costs O(d^2) in total, however many entries it has; every other entry is
+ * answered in O(1).</p>
+ * <p>The tables are indexed by value, so they take O(target) memory whatever the number of entries. The target
+ * is limited to {@value #MAX_TARGET}, the largest one whose triples all have a product that fits into a
+ * {@code long}: three entries summing up to it multiply to at most {@code (2^21 - 1)^3 < 2^63}.</p>
+ */
+public class ExpenseIndex {
+    public static final int MAX_TARGET = 3 * ((1 << 21) - 1);
+
+    private static final int MAX_OCCURRENCES = 3;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int target;
+    private final byte[] occurrences;
+    private int[] distinct = new int[INITIAL_CAPACITY];
+    private int distinctSize;
+    private final int[] pairSums;
+    private long pairProduct = -1;
+    private long tripleProduct = -1;
+
+    public ExpenseIndex(final int target) {
+        if (target < 0 || target > MAX_TARGET) {
+            throw new IllegalArgumentException("Target has to be between 0 and " + MAX_TARGET + ": " + target);
+        }
+        this.target = target;
+        this.occurrences = new byte[target + 1];
+        this.pairSums = new int[target + 1];
+        Arrays.fill(pairSums, -1);
+    }
+
+    /**
+     * Time complexity: O(d) for the first two occurrences of a value, O(1) otherwise
+     * Space complexity: O(1)
+     *
+     * @return whether this entry completed the first pair or the first triple that sums up to the target
+     */
+    public boolean add(final int entry) {
+        if (entry < 0) {
+            throw new IllegalArgumentException("Expense entries have to be non-negative: " + entry);
+        }
+        if (entry > target) {
+            return false;
+        }
+
+        boolean completed = false;
+        final int rest = target - entry;
+        if (pairProduct < 0 && occurrences[rest] > 0) {
+            pairProduct = (long) entry * rest;
+            completed = true;
+        }
+        if (tripleProduct < 0 && pairSums[rest] >= 0) {
+            tripleProduct = (long) entry * pairSums[rest] * (rest - pairSums[rest]);
+            completed = true;
+        }
+
+        registerPairs(entry);
+        return completed;
+    }
+
+    public OptionalLong getPairProduct() {
+        return pairProduct < 0 ? OptionalLong.empty() : OptionalLong.of(pairProduct);
+    }
+
+    public OptionalLong getTripleProduct() {
+        return tripleProduct < 0 ? OptionalLong.empty() : OptionalLong.of(tripleProduct);
+    }
+
+    /**
+     * Records the sums the entry forms with every value seen before. Later occurrences of a value
+     * cannot form any new sum, except the second one, which pairs the value with itself.
+     */
+    private void registerPairs(final int entry) {
+        if (occurrences[entry] == 0) {
+            for (int i = 0; i < distinctSize; i++) {
+                final int sum = entry + distinct[i];
+                if (sum <= target && pairSums[sum] < 0) {
+                    pairSums[sum] = distinct[i];
+                }
+            }
+            if (distinctSize == distinct.length) {
+                distinct = Arrays.copyOf(distinct, distinctSize * 2);
+            }
+            distinct[distinctSize++] = entry;
+        } else if (occurrences[entry] == 1 && 2 * entry <= target && pairSums[2 * entry] < 0) {
+            pairSums[2 * entry] = entry;
+        }
+        if (occurrences[entry] < MAX_OCCURRENCES) {
+            occurrences[entry]++;
+        }
+    }
+}
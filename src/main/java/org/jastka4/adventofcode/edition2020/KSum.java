@@ -0,0 +1,186 @@
+package org.jastka4.adventofcode.edition2020;
+
+import java.util.Arrays;
+
+/**
+ * Finds {@code k} entries of an {@code int[]} that sum up to a target, for any {@code k}.
+ * <p>Pairs over values from a bounded range are found in a single pass with a bitset membership test.
+ * Everything else is sorted, stripped of entries that cannot take part in a solution
+ * and searched by fixing the smallest entries and closing with a two-pointer sweep.</p>
+ */
+public final class KSum {
+    private static final int[] NONE = new int[0];
+    private static final long MAX_BITSET_RANGE = 1L << 26;
+
+    private KSum() {
+        // empty
+    }
+
+    /**
+     * Time complexity: O(n + range / 64) for pairs from a bounded range, O(n log n + n^(k-1)) otherwise
+     * Space complexity: O(n)
+     *
+     * @return the {@code k} entries (in ascending order) of the first combination found, or an empty array
+     */
+    public static int[] find(final int[] values, final int k, final long target) {
+        if (k <= 0 || values.length < k) {
+            return NONE;
+        }
+        if (k == 2) {
+            final int[] pair = findPairInBoundedRange(values, target);
+            if (pair != null) {
+                return pair;
+            }
+        }
+
+        final int[] sorted = compact(values, k, target);
+        if (sorted.length < k) {
+            return NONE;
+        }
+        final int[] chosen = new int[k];
+        return search(sorted, 0, k, target, chosen, 0) ? chosen : NONE;
+    }
+
+    /**
+     * @return the product of the values, or 0 for no values
+     * @throws ArithmeticException if the product does not fit into a {@code long}
+     */
+    public static long product(final int[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long product = 1;
+        for (int value : values) {
+            product = Math.multiplyExact(product, value);
+        }
+        return product;
+    }
+
+    /**
+     * @return the pair, an empty array if there is none or {@code null} if the range is too wide for a bitset
+     */
+    private static int[] findPairInBoundedRange(final int[] values, final long target) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if (min >= 0 && max > target) {
+            // without negative entries nothing above the target can be part of a pair
+            max = (int) Math.max(target, min - 1L);
+        }
+        final long range = (long) max - min + 1;
+        if (range > MAX_BITSET_RANGE) {
+            return null;
+        }
+
+        final long[] seen = new long[(int) ((range + 63) >>> 6)];
+        for (int value : values) {
+            if (value > max) {
+                continue;
+            }
+            final long complement = target - value;
+            if (complement >= min && complement <= max) {
+                final int bit = (int) (complement - min);
+                if ((seen[bit >>> 6] & (1L << bit)) != 0) {
+                    return complement < value ? new int[]{(int) complement, value} : new int[]{value, (int) complement};
+                }
+            }
+            final int bit = value - min;
+            seen[bit >>> 6] |= 1L << bit;
+        }
+        return NONE;
+    }
+
+    /**
+     * Sorts a copy of the values, keeps at most {@code k} copies of every value and,
+     * if there are no negative values, drops everything above the target before sorting.
+     */
+    private static int[] compact(final int[] values, final int k, final long target) {
+        boolean nonNegative = true;
+        for (int value : values) {
+            if (value < 0) {
+                nonNegative = false;
+                break;
+            }
+        }
+
+        int[] sorted = values.clone();
+        if (nonNegative) {
+            int size = 0;
+            for (int value : values) {
+                if (value <= target) {
+                    sorted[size++] = value;
+                }
+            }
+            sorted = Arrays.copyOf(sorted, size);
+        }
+        Arrays.sort(sorted);
+
+        int size = 0;
+        int copies = 0;
+        for (int value : sorted) {
+            copies = size > 0 && sorted[size - 1] == value ? copies + 1 : 1;
+            if (copies <= k) {
+                sorted[size++] = value;
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    private static boolean search(final int[] sorted, final int from, final int k, final long target,
+                                  final int[] chosen, final int depth) {
+        final int n = sorted.length;
+        if (k == 1) {
+            if (target < Integer.MIN_VALUE || target > Integer.MAX_VALUE
+                    || Arrays.binarySearch(sorted, from, n, (int) target) < 0) {
+                return false;
+            }
+            chosen[depth] = (int) target;
+            return true;
+        }
+        if (k == 2) {
+            int lo = from;
+            int hi = n - 1;
+            while (lo < hi) {
+                final long sum = (long) sorted[lo] + sorted[hi];
+                if (sum == target) {
+                    chosen[depth] = sorted[lo];
+                    chosen[depth + 1] = sorted[hi];
+                    return true;
+                } else if (sum < target) {
+                    lo++;
+                } else {
+                    hi--;
+                }
+            }
+            return false;
+        }
+
+        long largest = 0;
+        for (int i = n - k + 1; i < n; i++) {
+            largest += sorted[i];
+        }
+        for (int i = from; i <= n - k; i++) {
+            if (i > from && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+            long smallest = sorted[i];
+            for (int j = i + 1; j < i + k; j++) {
+                smallest += sorted[j];
+            }
+            if (smallest > target) {
+                break;
+            }
+            if (sorted[i] + largest < target) {
+                continue;
+            }
+            chosen[depth] = sorted[i];
+            if (search(sorted, i + 1, k - 1, target - sorted[i], chosen, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
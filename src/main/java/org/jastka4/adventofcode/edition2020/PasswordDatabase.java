@@ -0,0 +1,154 @@
+package org.jastka4.adventofcode.edition2020;
+
+import org.jastka4.adventofcode.BinaryCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A password database stored column by column: policy bounds and characters in primitive arrays
+ * and all passwords back to back in a single byte arena.
+ * <p>The text is parsed once; any number of {@link PasswordPolicy policies} can then be counted in a single scan.</p>
+ */
+public class PasswordDatabase {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    static final BinaryCodec<PasswordDatabase> CODEC = new BinaryCodec<>() {
+        @Override
+        public long size(final PasswordDatabase database) {
+            return 3 * (Integer.BYTES + (long) database.size * Integer.BYTES)
+                    + 2 * Integer.BYTES + database.size + database.arenaSize;
+        }
+
+        @Override
+        public void write(final PasswordDatabase database, final ByteBuffer buffer) {
+            BinaryCodec.writeInts(buffer, database.lo, database.size);
+            BinaryCodec.writeInts(buffer, database.hi, database.size);
+            BinaryCodec.writeInts(buffer, database.ends, database.size);
+            buffer.putInt(database.size).put(database.characters, 0, database.size);
+            buffer.putInt(database.arenaSize).put(database.arena, 0, database.arenaSize);
+        }
+
+        @Override
+        public PasswordDatabase read(final ByteBuffer buffer) {
+            final PasswordDatabase database = new PasswordDatabase(0);
+            database.lo = BinaryCodec.readInts(buffer);
+            database.hi = BinaryCodec.readInts(buffer);
+            database.ends = BinaryCodec.readInts(buffer);
+            database.characters = new byte[buffer.getInt()];
+            buffer.get(database.characters);
+            database.arena = new byte[buffer.getInt()];
+            buffer.get(database.arena);
+            database.size = database.lo.length;
+            database.arenaSize = database.arena.length;
+            return database;
+        }
+    };
+
+    private int[] lo;
+    private int[] hi;
+    private byte[] characters;
+    private int[] ends;
+    private byte[] arena;
+    private int size;
+    private int arenaSize;
+
+    public PasswordDatabase() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public PasswordDatabase(final int capacity) {
+        lo = new int[capacity];
+        hi = new int[capacity];
+        characters = new byte[capacity];
+        ends = new int[capacity];
+        arena = new byte[capacity * 16];
+    }
+
+    public static PasswordDatabase parse(final List<String> lines) {
+        final PasswordDatabase database = new PasswordDatabase(Math.max(lines.size(), 1));
+        for (String line : lines) {
+            final ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+            database.parse(buffer, 0, buffer.limit());
+        }
+        return database;
+    }
+
+    /**
+     * Time complexity: O(n), where n is the number of bytes
+     * Space complexity: O(n)
+     */
+    public static PasswordDatabase parse(final ByteBuffer buffer) {
+        final PasswordDatabase database = new PasswordDatabase();
+        database.parse(buffer, 0, buffer.limit());
+        return database;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Time complexity: O(n)
+     * Space complexity: O(1)
+     */
+    public long count(final PasswordPolicy policy) {
+        long valid = 0;
+        int from = 0;
+        for (int i = 0; i < size; i++) {
+            if (policy.test(lo[i], hi[i], characters[i], arena, from, ends[i])) {
+                valid++;
+            }
+            from = ends[i];
+        }
+        return valid;
+    }
+
+    /**
+     * Evaluates all policies in the same scan over the database.
+     *
+     * @return the number of passwords valid under each policy, in the order of the policies
+     */
+    public long[] count(final PasswordPolicy... policies) {
+        final long[] valid = new long[policies.length];
+        int from = 0;
+        for (int i = 0; i < size; i++) {
+            for (int p = 0; p < policies.length; p++) {
+                if (policies[p].test(lo[i], hi[i], characters[i], arena, from, ends[i])) {
+                    valid[p]++;
+                }
+            }
+            from = ends[i];
+        }
+        return valid;
+    }
+
+    private void parse(final ByteBuffer buffer, final int from, final int to) {
+        PasswordRecords.forEach(buffer, from, to, this::add);
+    }
+
+    private void add(final int min, final int max, final byte character,
+                     final ByteBuffer buffer, final int passwordStart, final int passwordEnd) {
+        if (size == lo.length) {
+            final int capacity = Math.max(size * 2, INITIAL_CAPACITY);
+            lo = Arrays.copyOf(lo, capacity);
+            hi = Arrays.copyOf(hi, capacity);
+            characters = Arrays.copyOf(characters, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        final int length = passwordEnd - passwordStart;
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        buffer.get(passwordStart, arena, arenaSize, length);
+        arenaSize += length;
+
+        lo[size] = min;
+        hi[size] = max;
+        characters[size] = character;
+        ends[size] = arenaSize;
+        size++;
+    }
+}
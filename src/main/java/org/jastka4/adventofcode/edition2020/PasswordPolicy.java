@@ -0,0 +1,32 @@
+package org.jastka4.adventofcode.edition2020;
+
+/**
+ * A corporate policy checked against one record of a {@link PasswordDatabase}.
+ * The password is the range {@code [from, to)} of the database's byte arena.
+ */
+@FunctionalInterface
+public interface PasswordPolicy {
+
+    /**
+     * The sled rental policy: the character occurs at least {@code lo} and at most {@code hi} times.
+     */
+    PasswordPolicy OCCURRENCE_RANGE = (lo, hi, character, arena, from, to) -> {
+        int occurrences = 0;
+        for (int i = from; i < to; i++) {
+            if (arena[i] == character) {
+                occurrences++;
+            }
+        }
+        return occurrences >= lo && occurrences <= hi;
+    };
+
+    /**
+     * The Official Toboggan Corporate Policy: the character is at exactly one of the 1-based positions
+     * {@code lo} and {@code hi}. A position outside of the password never holds the character.
+     */
+    PasswordPolicy EXACTLY_ONE_POSITION = (lo, hi, character, arena, from, to) ->
+            (lo >= 1 && lo <= to - from && arena[from + lo - 1] == character)
+                    ^ (hi >= 1 && hi <= to - from && arena[from + hi - 1] == character);
+
+    boolean test(int lo, int hi, byte character, byte[] arena, int from, int to);
+}
@@ -0,0 +1,77 @@
+package org.jastka4.adventofcode.edition2020;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The one byte-level parser of the <code>lo-hi c: password</code> format, shared by the {@link PasswordScanner}
+ * and the {@link PasswordDatabase}. Records are handed to a consumer as positions into the buffer,
+ * so nothing is allocated per line.
+ */
+final class PasswordRecords {
+
+    private PasswordRecords() {
+        // empty
+    }
+
+    /**
+     * Time complexity: O(n), where n is the number of bytes
+     * Space complexity: O(1)
+     *
+     * @throws IllegalArgumentException if a line between {@code from} and {@code to} is not a valid record
+     */
+    static void forEach(final ByteBuffer buffer, final int from, final int to, final RecordConsumer consumer) {
+        int pos = from;
+        while (pos < to) {
+            byte b = buffer.get(pos);
+            if (b == '\n' || b == '\r') {
+                pos++;
+                continue;
+            }
+
+            int end = Utils.digitsEnd(buffer, pos, to);
+            final int lo = Utils.parseUnsignedInt(buffer, pos, end);
+            pos = expect(buffer, end, to, (byte) '-');
+            end = Utils.digitsEnd(buffer, pos, to);
+            final int hi = Utils.parseUnsignedInt(buffer, pos, end);
+            pos = expect(buffer, end, to, (byte) ' ');
+            final byte character = next(buffer, pos, to);
+            if (next(buffer, pos + 1, to) != ':' || next(buffer, pos + 2, to) != ' ') {
+                throw new IllegalArgumentException("Expected \"c: \" at byte " + pos);
+            }
+            pos += 3;
+
+            final int passwordStart = pos;
+            while (pos < to && (b = buffer.get(pos)) != '\n' && b != '\r') {
+                pos++;
+            }
+            consumer.accept(lo, hi, character, buffer, passwordStart, pos);
+        }
+    }
+
+    private static byte next(final ByteBuffer buffer, final int pos, final int to) {
+        if (pos >= to) {
+            throw new IllegalArgumentException("Record cut off at byte " + pos);
+        }
+        final byte b = buffer.get(pos);
+        if (b == '\n' || b == '\r') {
+            throw new IllegalArgumentException("Record cut off by a line break at byte " + pos);
+        }
+        return b;
+    }
+
+    /**
+     * @return the position after the expected byte
+     */
+    private static int expect(final ByteBuffer buffer, final int pos, final int to, final byte expected) {
+        final byte b = next(buffer, pos, to);
+        if (b != expected) {
+            throw new IllegalArgumentException("Unexpected character '" + (char) b + "' at byte " + pos);
+        }
+        return pos + 1;
+    }
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(int lo, int hi, byte character, ByteBuffer buffer, int passwordStart, int passwordEnd);
+    }
+}
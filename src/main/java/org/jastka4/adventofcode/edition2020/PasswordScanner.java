@@ -0,0 +1,105 @@
+package org.jastka4.adventofcode.edition2020;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Validates a password database in the <code>lo-hi c: password</code> format straight from its bytes.
+ * <p>Both policies are checked in the same pass and nothing is allocated per line;
+ * large buffers can be split on line boundaries and scanned on all cores.</p>
+ */
+public final class PasswordScanner {
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private PasswordScanner() {
+        // empty
+    }
+
+    public static Counts scan(final ByteBuffer buffer) {
+        return scan(buffer, 0, buffer.limit());
+    }
+
+    public static Counts scan(final ByteBuffer buffer, final int parallelism) {
+        if (parallelism <= 1) {
+            return scan(buffer);
+        }
+        final int[] boundaries = Utils.chunkBoundaries(buffer, parallelism, NEW_LINE);
+        return IntStream.range(0, parallelism)
+                .parallel()
+                .mapToObj(i -> scan(buffer, boundaries[i], boundaries[i + 1]))
+                .reduce(new Counts(0, 0), Counts::add);
+    }
+
+    /**
+     * Scans the chunks of a file one after the other, see {@link Utils#mapChunks(String, byte...)},
+     * every chunk on all cores.
+     */
+    public static Counts scan(final List<ByteBuffer> chunks, final int parallelism) {
+        Counts counts = new Counts(0, 0);
+        for (ByteBuffer chunk : chunks) {
+            counts = counts.add(scan(chunk, parallelism));
+        }
+        return counts;
+    }
+
+    /**
+     * Time complexity: O(n), where n is the number of bytes
+     * Space complexity: O(1)
+     */
+    static Counts scan(final ByteBuffer buffer, final int from, final int to) {
+        final Validator validator = new Validator();
+        PasswordRecords.forEach(buffer, from, to, validator);
+        return new Counts(validator.validByCount, validator.validByPosition);
+    }
+
+    /**
+     * Checks both policies against each record right in the buffer.
+     */
+    private static class Validator implements PasswordRecords.RecordConsumer {
+        private long validByCount;
+        private long validByPosition;
+
+        @Override
+        public void accept(final int lo, final int hi, final byte character,
+                           final ByteBuffer buffer, final int passwordStart, final int passwordEnd) {
+            int occurrences = 0;
+            for (int pos = passwordStart; pos < passwordEnd; pos++) {
+                if (buffer.get(pos) == character) {
+                    occurrences++;
+                }
+            }
+            if (occurrences >= lo && occurrences <= hi) {
+                validByCount++;
+            }
+            final int length = passwordEnd - passwordStart;
+            final boolean first = lo >= 1 && lo <= length && buffer.get(passwordStart + lo - 1) == character;
+            final boolean second = hi >= 1 && hi <= length && buffer.get(passwordStart + hi - 1) == character;
+            if (first ^ second) {
+                validByPosition++;
+            }
+        }
+    }
+
+    public static class Counts {
+        private final long validByCount;
+        private final long validByPosition;
+
+        Counts(final long validByCount, final long validByPosition) {
+            this.validByCount = validByCount;
+            this.validByPosition = validByPosition;
+        }
+
+        public long getValidByCount() {
+            return validByCount;
+        }
+
+        public long getValidByPosition() {
+            return validByPosition;
+        }
+
+        Counts add(final Counts other) {
+            return new Counts(validByCount + other.validByCount, validByPosition + other.validByPosition);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package org.jastka4.adventofcode.edition2020;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Utils {
 
@@ -19,24 +28,271 @@ public class Utils {
 
     private static final String CONFIG_PROPERTIES = "config.properties";
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
     public static List<String> getLinesFromFile(final String relativePath) {
         final List<String> allLines = new ArrayList<>();
+        try (Stream<String> lines = streamLinesFromFile(relativePath)) {
+            lines.forEachOrdered(allLines::add);
+        } catch (final UncheckedIOException e) {
+            e.printStackTrace();
+        }
+        return allLines;
+    }
+
+    /**
+     * Lazily reads the lines of a classpath resource or, if there is no such resource, of a file on the filesystem.
+     * Only the current line and a fixed-size buffer are kept in memory, so the returned stream has to be closed.
+     */
+    public static Stream<String> streamLinesFromFile(final String path) {
         try {
-            final URL resource = Utils.class.getResource(relativePath);
-            allLines.addAll(Files.readAllLines(Paths.get(resource.toURI())));
+            final BufferedReader reader = new BufferedReader(
+                    Channels.newReader(openChannel(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+            return reader.lines().onClose(() -> {
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    public static String getFirstLineFromFile(final String relativePath) {
+        try (Stream<String> lines = streamLinesFromFile(relativePath)) {
+            return lines.findFirst().orElse("");
+        }
+    }
+
+    /**
+     * Memory-maps a classpath resource or a file on the filesystem. Resources that are not plain files
+     * (e.g. packaged in a jar) are read into a heap buffer instead.
+     * <p>A single buffer addresses at most 2 GiB, larger files have to be read through {@link #mapChunks}.</p>
+     *
+     * @throws IllegalArgumentException if the file is larger than 2 GiB
+     */
+    public static ByteBuffer mapFile(final String path) {
+        try {
+            final URL resource = Utils.class.getResource(path);
+            if (resource == null) {
+                return map(Paths.get(path));
+            }
+            if ("file".equals(resource.getProtocol())) {
+                return map(Paths.get(resource.toURI()));
+            }
+            try (InputStream input = resource.openStream()) {
+                return ByteBuffer.wrap(input.readAllBytes());
+            }
         } catch (final IOException | URISyntaxException e) {
             e.printStackTrace();
+            return ByteBuffer.allocate(0);
         }
-        return allLines;
     }
 
-    public static List<Integer> getIntegersFromFile(final String relativePath) {
-        return convertToIntegers(getLinesFromFile(relativePath));
+    /**
+     * Memory-maps a classpath resource or a file of any size as consecutive chunks of at most 1 GiB, each of them
+     * ending right after a separator (or at the end of the file), so that no record is cut in half.
+     * Resources that are not plain files are read into a single heap buffer instead.
+     *
+     * @throws IllegalArgumentException if there is no separator within 1 GiB
+     */
+    public static List<ByteBuffer> mapChunks(final String path, final byte... separator) {
+        try {
+            final URL resource = Utils.class.getResource(path);
+            if (resource == null) {
+                return mapChunks(Paths.get(path), separator);
+            }
+            if ("file".equals(resource.getProtocol())) {
+                return mapChunks(Paths.get(resource.toURI()), separator);
+            }
+            try (InputStream input = resource.openStream()) {
+                return List.of(ByteBuffer.wrap(input.readAllBytes()));
+            }
+        } catch (final IOException | URISyntaxException e) {
+            e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    /**
+     * Splits a buffer into roughly equal chunks that only start right after a separator,
+     * so that no record is cut in half.
+     *
+     * @return {@code chunks + 1} ascending positions, the first being 0 and the last the buffer's limit
+     */
+    public static int[] chunkBoundaries(final ByteBuffer buffer, final int chunks, final byte[] separator) {
+        final int limit = buffer.limit();
+        final int[] boundaries = new int[chunks + 1];
+        boundaries[chunks] = limit;
+        for (int i = 1; i < chunks; i++) {
+            int boundary = Math.max(boundaries[i - 1], (int) ((long) limit * i / chunks));
+            while (boundary < limit && !endsWith(buffer, boundary, separator)) {
+                boundary++;
+            }
+            boundaries[i] = boundary;
+        }
+        return boundaries;
+    }
+
+    /**
+     * Memory-maps the file and parses one integer per line straight into an {@code int[]}, skipping blank lines,
+     * without a {@code String} or a boxed {@code Integer} per number.
+     */
+    public static int[] getIntArrayFromFile(final String path) {
+        return parseInts(mapFile(path));
+    }
+
+    public static long[] getLongArrayFromFile(final String path) {
+        return parseLongs(mapFile(path));
+    }
+
+    public static int[] parseInts(final ByteBuffer buffer) {
+        final IntArrayListener values = new IntArrayListener(INITIAL_CAPACITY);
+        forEachInteger(buffer, 0, buffer.limit(), values);
+        return values.toArray();
+    }
+
+    /**
+     * Same as {@link #parseInts(ByteBuffer)} for input that is already split into lines: the bytes of every line
+     * go through the same {@link #forEachInteger parser}.
+     *
+     * @throws IllegalArgumentException naming the line if a line is not a single integer
+     */
+    public static int[] parseInts(final List<String> lines) {
+        final IntArrayListener values = new IntArrayListener(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            final ByteBuffer line = ByteBuffer.wrap(lines.get(i).getBytes(StandardCharsets.US_ASCII));
+            try {
+                forEachInteger(line, 0, line.limit(), values);
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return values.toArray();
+    }
+
+    public static long[] parseLongs(final ByteBuffer buffer) {
+        final LongArrayListener values = new LongArrayListener();
+        forEachInteger(buffer, 0, buffer.limit(), values);
+        return values.toArray();
+    }
+
+    /**
+     * Push parser over ASCII lines holding one, optionally negative, integer each. Every integer and every blank
+     * line between {@code from} and {@code to} is reported to the listener in order; spaces and carriage returns
+     * are ignored.
+     *
+     * @throws IllegalArgumentException if a line holds anything else or a number does not fit into a {@code long}
+     */
+    public static void forEachInteger(final ByteBuffer buffer, final int from, final int to,
+                                      final IntegerListener listener) {
+        long value = 0;
+        boolean negative = false;
+        boolean digits = false;
+        boolean blank = true;
+        boolean ended = false;
+        for (int pos = from; pos < to; pos++) {
+            final byte b = buffer.get(pos);
+            if (isDigit(b)) {
+                if (ended) {
+                    throw new IllegalArgumentException("More than one number in the line at byte " + pos);
+                }
+                final int end = digitsEnd(buffer, pos, to);
+                value = parseUnsigned(buffer, pos, end);
+                pos = end - 1;
+                digits = true;
+                blank = false;
+            } else if (b == '\n') {
+                if (digits) {
+                    listener.integer(negative ? -value : value);
+                } else if (blank) {
+                    listener.blankLine();
+                } else {
+                    throw new IllegalArgumentException("Sign without digits before byte " + pos);
+                }
+                value = 0;
+                negative = false;
+                digits = false;
+                blank = true;
+                ended = false;
+            } else if (b == '-' && blank) {
+                negative = true;
+                blank = false;
+            } else if (b == ' ' || b == '\r') {
+                ended = digits;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + (char) b + "' at byte " + pos);
+            }
+        }
+        if (digits) {
+            listener.integer(negative ? -value : value);
+        } else if (!blank) {
+            throw new IllegalArgumentException("Sign without digits before byte " + to);
+        }
+    }
+
+    public static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * @return the position right after the run of decimal digits that starts at {@code from}, at most {@code to};
+     * {@code from} itself if there is no digit there
+     */
+    public static int digitsEnd(final ByteBuffer buffer, final int from, final int to) {
+        int pos = from;
+        while (pos < to && isDigit(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * The digit loop every byte-level parser shares: reads the unsigned decimal number spanning
+     * {@code [from, to)}, usually up to {@link #digitsEnd}.
+     *
+     * @throws IllegalArgumentException if the range is empty, holds anything but digits
+     *                                  or the number does not fit into a {@code long}
+     */
+    public static long parseUnsigned(final ByteBuffer buffer, final int from, final int to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("Expected a number at byte " + from);
+        }
+        long value = 0;
+        for (int pos = from; pos < to; pos++) {
+            final byte b = buffer.get(pos);
+            if (!isDigit(b)) {
+                throw new IllegalArgumentException("Unexpected character '" + (char) b + "' at byte " + pos);
+            }
+            if (value > (Long.MAX_VALUE - (b - '0')) / 10) {
+                throw new IllegalArgumentException("Number too large at byte " + pos);
+            }
+            value = value * 10 + b - '0';
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #parseUnsigned}, for numbers that have to fit into an {@code int}.
+     */
+    public static int parseUnsignedInt(final ByteBuffer buffer, final int from, final int to) {
+        final long value = parseUnsigned(buffer, from, to);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Number too large at byte " + from);
+        }
+        return (int) value;
     }
 
     public static Properties getProperties() {
         Properties properties = new Properties();
-        try (InputStream input = Day1.class.getClassLoader().getResourceAsStream(CONFIG_PROPERTIES)) {
+        try (InputStream input = Utils.class.getClassLoader().getResourceAsStream(CONFIG_PROPERTIES)) {
             if (input == null) {
                 System.out.println("Sorry, unable to find config.properties");
             }
@@ -48,9 +304,114 @@ public class Utils {
         return properties;
     }
 
-    private static List<Integer> convertToIntegers(final List<String> strings) {
-        return strings.stream()
-                .map(Integer::parseInt)
-                .collect(Collectors.toList());
+    private static ByteBuffer map(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(path + " has " + channel.size()
+                        + " bytes, more than a single buffer can map; read it with mapChunks");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static List<ByteBuffer> mapChunks(final Path path, final byte[] separator) throws IOException {
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                final int length = (int) Math.min(MAX_CHUNK_SIZE, size - start);
+                final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int end = length;
+                if (start + length < size) {
+                    while (end > 0 && !endsWith(window, end, separator)) {
+                        end--;
+                    }
+                    if (end == 0) {
+                        throw new IllegalArgumentException("No separator within " + length + " bytes after byte "
+                                + start + " of " + path);
+                    }
+                }
+                chunks.add(window.slice(0, end));
+                start += end;
+            }
+        }
+        return chunks;
+    }
+
+    private static boolean endsWith(final ByteBuffer buffer, final int end, final byte[] separator) {
+        if (end < separator.length) {
+            return false;
+        }
+        for (int i = 0; i < separator.length; i++) {
+            if (buffer.get(end - separator.length + i) != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ReadableByteChannel openChannel(final String path) throws IOException {
+        final InputStream resource = Utils.class.getResourceAsStream(path);
+        if (resource != null) {
+            return Channels.newChannel(resource);
+        }
+        return FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+    }
+
+    /**
+     * Receives the integers and blank lines found by {@link #forEachInteger(ByteBuffer, int, int, IntegerListener)}.
+     */
+    @FunctionalInterface
+    public interface IntegerListener {
+        void integer(long value);
+
+        default void blankLine() {
+            // blank lines are skipped unless a listener needs them as separators
+        }
+    }
+
+    /**
+     * Collects the integers into a growing {@code int[]}, rejecting those that do not fit.
+     */
+    private static final class IntArrayListener implements IntegerListener {
+        private int[] values;
+        private int size;
+
+        private IntArrayListener(final int capacity) {
+            values = new int[Math.max(capacity, 1)];
+        }
+
+        @Override
+        public void integer(final long value) {
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not an int: " + value);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = (int) value;
+        }
+
+        private int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongArrayListener implements IntegerListener {
+        private long[] values = new long[INITIAL_CAPACITY];
+        private int size;
+
+        @Override
+        public void integer(final long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
     }
 }
@@ -0,0 +1,152 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming front end of {@link Day5}: the crate drawing is parsed once, front to back, from a byte buffer,
+ * the moves are decoded on demand and handed straight to the simulation without ever building a list of them.
+ * <p>Replaying a log therefore needs memory for the stacks only, however many moves it holds.</p>
+ */
+public final class CraneLog {
+    private final ByteBuffer buffer;
+    private final List<CrateStack> crates;
+    private final int movesStart;
+
+    private CraneLog(final ByteBuffer buffer, final List<CrateStack> crates, final int movesStart) {
+        this.buffer = buffer;
+        this.crates = crates;
+        this.movesStart = movesStart;
+    }
+
+    /**
+     * Parses the drawing, up to and including the line of stack numbers. The rows above it are only located
+     * on the way down and then read bottom-up, so every stack is pushed in order.
+     * <p>Time complexity: O(d), where d is the size of the drawing
+     * Space complexity: O(c + r), where c is the number of crates and r the number of rows</p>
+     */
+    public static CraneLog parse(final ByteBuffer buffer) {
+        final int limit = buffer.limit();
+        int[] rows = new int[16];
+        int rowCount = 0;
+        int pos = 0;
+        while (pos < limit && !isNumberLine(buffer, pos, limit)) {
+            if (rowCount == rows.length) {
+                rows = Arrays.copyOf(rows, rowCount * 2);
+            }
+            rows[rowCount++] = pos;
+            pos = nextLine(buffer, pos, limit);
+        }
+        if (pos == limit) {
+            throw new IllegalArgumentException("The drawing has no line of stack numbers");
+        }
+
+        final int stackCount = lastNumber(buffer, pos, limit);
+        final List<CrateStack> crates = new ArrayList<>(stackCount);
+        for (int i = 0; i < stackCount; i++) {
+            crates.add(new CrateStack(rowCount));
+        }
+        for (int row = rowCount; row-- > 0; ) {
+            final int end = row + 1 < rowCount ? rows[row + 1] - 1 : pos - 1;
+            for (int column = rows[row] + 1, stack = 0; column < end && stack < stackCount; column += 4, stack++) {
+                final byte b = buffer.get(column);
+                if (b != ' ' && b != '\r') {
+                    crates.get(stack).push((char) b);
+                }
+            }
+        }
+        return new CraneLog(buffer, List.copyOf(crates), nextLine(buffer, pos, limit));
+    }
+
+    /**
+     * @return the starting stacks, which must not be modified, see {@link Day5#copy(List)}
+     */
+    public List<CrateStack> getCrates() {
+        return crates;
+    }
+
+    /**
+     * Decodes the moves one by one and hands each of them to the consumer, in the order of the log.
+     * <p>Time complexity: O(n), where n is the size of the log
+     * Space complexity: O(1)</p>
+     */
+    public void forEachMove(final MoveConsumer consumer) {
+        final int limit = buffer.limit();
+        int quantity = 0;
+        int from = 0;
+        int count = 0;
+        int pos = movesStart;
+        while (pos < limit) {
+            if (!Utils.isDigit(buffer.get(pos))) {
+                pos++;
+                continue;
+            }
+            final int end = Utils.digitsEnd(buffer, pos, limit);
+            final int value = Utils.parseUnsignedInt(buffer, pos, end);
+            pos = end;
+            if (count == 0) {
+                quantity = value;
+                count++;
+            } else if (count == 1) {
+                from = value;
+                count++;
+            } else {
+                consumer.accept(quantity, from, value);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * Rearranges a copy of the starting stacks while the log is read.
+     *
+     * @return the crates on top of each stack
+     */
+    public String replay(final boolean keepOrder) {
+        final List<CrateStack> stacks = Day5.copy(crates);
+        forEachMove((quantity, from, to) -> stacks.get(from - 1).moveTo(stacks.get(to - 1), quantity, keepOrder));
+        return Day5.tops(stacks);
+    }
+
+    private static boolean isNumberLine(final ByteBuffer buffer, final int start, final int limit) {
+        for (int pos = start; pos < limit; pos++) {
+            final byte b = buffer.get(pos);
+            if (b != ' ') {
+                return Utils.isDigit(b);
+            }
+        }
+        return false;
+    }
+
+    private static int lastNumber(final ByteBuffer buffer, final int start, final int limit) {
+        int last = 0;
+        int pos = start;
+        while (pos < limit && buffer.get(pos) != '\n') {
+            if (Utils.isDigit(buffer.get(pos))) {
+                final int end = Utils.digitsEnd(buffer, pos, limit);
+                last = Utils.parseUnsignedInt(buffer, pos, end);
+                pos = end;
+            } else {
+                pos++;
+            }
+        }
+        return last;
+    }
+
+    private static int nextLine(final ByteBuffer buffer, final int start, final int limit) {
+        int pos = start;
+        while (pos < limit && buffer.get(pos) != '\n') {
+            pos++;
+        }
+        return Math.min(pos + 1, limit);
+    }
+
+    @FunctionalInterface
+    public interface MoveConsumer {
+        void accept(int quantity, int from, int to);
+    }
+}
@@ -0,0 +1,118 @@
+package org.jastka4.adventofcode.edition2022;
+
+import java.util.Arrays;
+
+/**
+ * A stack of crates backed by a growable {@code char[]}, the bottom crate being at index 0.
+ */
+public class CrateStack {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private char[] crates;
+    private int size;
+
+    public CrateStack() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CrateStack(final int capacity) {
+        this.crates = new char[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @param crates the crates from the bottom up, copied into the new stack
+     */
+    public static CrateStack of(final char[] crates) {
+        final CrateStack stack = new CrateStack(crates.length);
+        System.arraycopy(crates, 0, stack.crates, 0, crates.length);
+        stack.size = crates.length;
+        return stack;
+    }
+
+    public void push(final char crate) {
+        ensureCapacity(size + 1);
+        crates[size++] = crate;
+    }
+
+    public char pop() {
+        checkSize(1);
+        return crates[--size];
+    }
+
+    public char peek() {
+        checkSize(1);
+        return crates[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index position counted from the bottom of the stack
+     */
+    public char get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return crates[index];
+    }
+
+    /**
+     * Moves the top {@code quantity} crates onto {@code target} with a single bulk copy.
+     * <p>Time complexity: O(quantity), a single {@code System.arraycopy} if the order is kept
+     * Space complexity: O(1) amortised</p>
+     *
+     * @param keepOrder whether the crates are moved at once (CrateMover 9001)
+     *                  or one at a time, which reverses them (CrateMover 9000)
+     */
+    public void moveTo(final CrateStack target, final int quantity, final boolean keepOrder) {
+        checkSize(quantity);
+        target.ensureCapacity(target.size + quantity);
+        final int start = size - quantity;
+        if (keepOrder) {
+            System.arraycopy(crates, start, target.crates, target.size, quantity);
+        } else {
+            for (int i = 0; i < quantity; i++) {
+                target.crates[target.size + i] = crates[size - 1 - i];
+            }
+        }
+        size = start;
+        target.size += quantity;
+    }
+
+    public CrateStack copy() {
+        final CrateStack copy = new CrateStack(crates.length);
+        System.arraycopy(crates, 0, copy.crates, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * @return the crates from the bottom up, in an array of exactly the stack's size
+     */
+    public char[] toArray() {
+        return Arrays.copyOf(crates, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(crates, 0, size);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > crates.length) {
+            crates = Arrays.copyOf(crates, Math.max(capacity, crates.length * 2));
+        }
+    }
+
+    private void checkSize(final int quantity) {
+        if (quantity > size) {
+            throw new IllegalStateException("Cannot take " + quantity + " crates from a stack of " + size);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.jastka4.adventofcode.edition2022;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A recorded {@link Day5} simulation that answers what the stacks looked like after any move.
+ * <p>While the moves are replayed, the state of every stack is saved every {@code interval} moves. Checkpoints are
+ * copy-on-write: a stack that was not touched since the previous checkpoint shares its saved crates with it,
+ * and saved crates are trimmed to their size. A query restores the checkpoint at or before the move and replays
+ * less than {@code interval} moves from there, so the interval trades memory for query latency.</p>
+ * <p>Time complexity: O(m * q) to record and O(c + interval * q) per query, where c is the number of crates
+ * Space complexity: O(m + (m / interval) * s), where s is the number of stacks,
+ * plus one copy per checkpoint of every stack touched since the previous one</p>
+ */
+public final class CrateTimeline {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean keepOrder;
+    private final int interval;
+    private final List<char[][]> checkpoints = new ArrayList<>();
+    private final List<CrateStack> current;
+    private final boolean[] touched;
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] froms = new int[INITIAL_CAPACITY];
+    private int[] tos = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private CrateTimeline(final List<CrateStack> crates, final boolean keepOrder, final int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive, got " + interval);
+        }
+        this.keepOrder = keepOrder;
+        this.interval = interval;
+        this.current = Day5.copy(crates);
+        this.touched = new boolean[crates.size()];
+        final char[][] initial = new char[crates.size()][];
+        for (int stack = 0; stack < initial.length; stack++) {
+            initial[stack] = current.get(stack).toArray();
+        }
+        checkpoints.add(initial);
+    }
+
+    /**
+     * @param keepOrder whether the crates are moved at once (CrateMover 9001) or one at a time (CrateMover 9000)
+     * @param interval  number of moves between two checkpoints
+     */
+    public static CrateTimeline record(final List<CrateStack> crates, final List<Day5.Move> moves,
+                                       final boolean keepOrder, final int interval) {
+        final CrateTimeline timeline = new CrateTimeline(crates, keepOrder, interval);
+        for (Day5.Move move : moves) {
+            timeline.add(move.quantity, move.from, move.to);
+        }
+        return timeline;
+    }
+
+    public static CrateTimeline record(final CraneLog log, final boolean keepOrder, final int interval) {
+        final CrateTimeline timeline = new CrateTimeline(log.getCrates(), keepOrder, interval);
+        log.forEachMove(timeline::add);
+        return timeline;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getCheckpoints() {
+        return checkpoints.size();
+    }
+
+    /**
+     * @param move number of moves done, from 0 (the starting stacks) to {@link #size()}
+     * @return a fresh copy of the stacks after the given number of moves
+     */
+    public List<CrateStack> stateAfter(final int move) {
+        if (move < 0 || move > size) {
+            throw new IllegalArgumentException("Move " + move + " is outside of 0.." + size);
+        }
+        final int checkpoint = move / interval;
+        final char[][] saved = checkpoints.get(checkpoint);
+        final List<CrateStack> stacks = new ArrayList<>(saved.length);
+        for (char[] crates : saved) {
+            stacks.add(CrateStack.of(crates));
+        }
+        for (int i = checkpoint * interval; i < move; i++) {
+            stacks.get(froms[i] - 1).moveTo(stacks.get(tos[i] - 1), quantities[i], keepOrder);
+        }
+        return stacks;
+    }
+
+    /**
+     * @return the crate on top of each stack after the given number of moves, a space for an empty stack
+     */
+    public String topsAfter(final int move) {
+        final List<CrateStack> stacks = stateAfter(move);
+        final StringBuilder result = new StringBuilder(stacks.size());
+        for (CrateStack stack : stacks) {
+            result.append(stack.isEmpty() ? ' ' : stack.peek());
+        }
+        return result.toString();
+    }
+
+    private void add(final int quantity, final int from, final int to) {
+        current.get(from - 1).moveTo(current.get(to - 1), quantity, keepOrder);
+        touched[from - 1] = true;
+        touched[to - 1] = true;
+
+        if (size == quantities.length) {
+            final int capacity = size * 2;
+            quantities = Arrays.copyOf(quantities, capacity);
+            froms = Arrays.copyOf(froms, capacity);
+            tos = Arrays.copyOf(tos, capacity);
+        }
+        quantities[size] = quantity;
+        froms[size] = from;
+        tos[size] = to;
+        size++;
+
+        if (size % interval == 0) {
+            checkpoint();
+        }
+    }
+
+    private void checkpoint() {
+        final char[][] previous = checkpoints.get(checkpoints.size() - 1);
+        final char[][] saved = new char[previous.length][];
+        for (int stack = 0; stack < saved.length; stack++) {
+            saved[stack] = touched[stack] ? current.get(stack).toArray() : previous[stack];
+            touched[stack] = false;
+        }
+        checkpoints.add(saved);
+    }
+}
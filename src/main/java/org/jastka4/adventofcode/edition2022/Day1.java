@@ -1,8 +1,13 @@
 package org.jastka4.adventofcode.edition2022;
 
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
-import java.util.*;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
 
 /**
  * <h2>--- Day 1: Calorie Counting ---</h2>
@@ -70,48 +75,128 @@ import java.util.*;
  * <p>Find the top three Elves carrying the most Calories.
  * <em>How many Calories are those Elves carrying in total?</em></p>
  */
-public class Day1 {
+public class Day1 implements Solver<TopK> {
     private static final String INPUT_CONFIG = "input.2022.day1";
+    private static final int TOP_ELVES = 3;
+    private static final byte[] BLANK_LINE = {'\n', '\n'};
 
     public static void main(String... args) {
-        final Day1 day1 = new Day1();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
-        try {
-            System.out.println("Part 1: " + day1.solve(allLines));
-            System.out.println("Part 2: " + day1.solve2(allLines));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        final List<ByteBuffer> chunks = Utils.mapChunks(prop.getProperty(INPUT_CONFIG), BLANK_LINE);
+        final TopK elves = getTopElves(chunks, TOP_ELVES, Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Part 1: " + elves.max());
+        System.out.println("Part 2: " + elves.sum());
+    }
+
+    @Override
+    public TopK parse(final List<String> lines) {
+        return getTopElves(lines, TOP_ELVES);
     }
 
-    private int solve(final List<String> lines) {
-        List<Integer> elves = getElves(lines);
+    @Override
+    public TopK parse(final ByteBuffer input) {
+        return getTopElves(input, TOP_ELVES, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public Object part1(final TopK elves) {
+        return elves.max();
+    }
 
-        return elves.get(0);
+    @Override
+    public Object part2(final TopK elves) {
+        return elves.sum();
     }
 
-    private int solve2(final List<String> lines) {
-        List<Integer> elves = getElves(lines);
+    @Override
+    public BinaryCodec<TopK> codec() {
+        return TopK.CODEC;
+    }
 
-        return elves.stream().mapToInt(value -> value).limit(3).sum();
+    int solve(final List<String> lines) {
+        return getTopElves(lines, 1).max();
     }
 
+    int solve2(final List<String> lines) {
+        return getTopElves(lines, TOP_ELVES).sum();
+    }
 
-    private static List<Integer> getElves(List<String> lines) {
-        List<Integer> elves = new ArrayList<>();
+    /**
+     * Time complexity: O(n log k)
+     * Space complexity: O(k)
+     */
+    static TopK getTopElves(final List<String> lines, final int k) {
+        final TopK elves = new TopK(k);
 
         int currentElf = 0;
         for (String line : lines) {
             if (line.isEmpty()) {
-                elves.add(currentElf);
+                elves.offer(currentElf);
                 currentElf = 0;
             } else {
                 currentElf += Integer.parseInt(line);
             }
         }
-        elves.sort(Collections.reverseOrder());
+        elves.offer(currentElf);
 
         return elves;
     }
+
+    /**
+     * Splits the input at blank lines into one chunk per thread and merges the top {@code k} elves of every chunk.
+     */
+    static TopK getTopElves(final ByteBuffer buffer, final int k, final int parallelism) {
+        final int[] boundaries = Utils.chunkBoundaries(buffer, parallelism, BLANK_LINE);
+        return IntStream.range(0, parallelism)
+                .parallel()
+                .mapToObj(i -> getTopElves(buffer, boundaries[i], boundaries[i + 1], k))
+                .reduce(TopK::merge)
+                .orElseGet(() -> new TopK(k));
+    }
+
+    /**
+     * Same as {@link #getTopElves(ByteBuffer, int, int)} for a file mapped in chunks that end at blank lines.
+     */
+    static TopK getTopElves(final List<ByteBuffer> chunks, final int k, final int parallelism) {
+        TopK elves = new TopK(k);
+        for (ByteBuffer chunk : chunks) {
+            elves = elves.merge(getTopElves(chunk, k, parallelism));
+        }
+        return elves;
+    }
+
+    static TopK getTopElves(final ByteBuffer buffer, final int from, final int to, final int k) {
+        final Elves elves = new Elves(k);
+        Utils.forEachInteger(buffer, from, to, elves);
+        return elves.finish();
+    }
+
+    /**
+     * Sums the calories of the current elf as they are pushed by the parser, a blank line closing the elf.
+     */
+    private static class Elves implements Utils.IntegerListener {
+        private final TopK top;
+        private int currentElf;
+
+        Elves(final int k) {
+            this.top = new TopK(k);
+        }
+
+        @Override
+        public void integer(final long calories) {
+            currentElf += (int) calories;
+        }
+
+        @Override
+        public void blankLine() {
+            top.offer(currentElf);
+            currentElf = 0;
+        }
+
+        TopK finish() {
+            top.offer(currentElf);
+            return top;
+        }
+    }
 }
@@ -1,9 +1,11 @@
 package org.jastka4.adventofcode.edition2022;
 
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -68,76 +70,108 @@ import java.util.Properties;
  * <p>Following the Elf's instructions for the second column,
  * <em>what would your total score be if everything goes exactly according to your strategy guide?</em></p>
  */
-public class Day2 {
+public class Day2 implements Solver<long[]> {
 
     private static final String INPUT_CONFIG = "input.2022.day2";
 
-    private static final Map<Character, Integer> POINTS_MAP = Map.of(
-            'A', 1,
-            'X', 1,
-            'B', 2,
-            'Y', 2,
-            'C', 3,
-            'Z', 3
-    );
+    private static final int ROUND_TYPES = 9;
+
+    /**
+     * Scores of the round types <code>A X, A Y, A Z, B X, B Y, B Z, C X, C Y, C Z</code>
+     * when the second column is the shape to play.
+     */
+    private static final int[] SHAPE_SCORES = {4, 8, 3, 1, 5, 9, 7, 2, 6};
+
+    /**
+     * Scores of the same round types when the second column is the outcome to achieve.
+     */
+    private static final int[] OUTCOME_SCORES = {3, 4, 8, 1, 5, 9, 2, 6, 7};
 
     public static void main(String... args) {
-        final Day2 day2 = new Day2();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
-        try {
-            System.out.println("Part 1: " + day2.solve(allLines));
-            System.out.println("Part 2: " + day2.solve2(allLines));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        final long[] rounds = countRounds(Utils.mapFile(prop.getProperty(INPUT_CONFIG)));
+
+        System.out.println("Part 1: " + score(rounds, SHAPE_SCORES));
+        System.out.println("Part 2: " + score(rounds, OUTCOME_SCORES));
     }
 
-    private int solve(List<String> lines) {
-        int score = 0;
-        Map<String, Integer> battleMap = Map.of(
-                "A X", 3,
-                "A Y", 6,
-                "A Z", 0,
-                "B X", 0,
-                "B Y", 3,
-                "B Z", 6,
-                "C X", 6,
-                "C Y", 0,
-                "C Z", 3
-        );
+    @Override
+    public long[] parse(final List<String> lines) {
+        return countRounds(lines);
+    }
 
-        for (String line : lines) {
-            score += POINTS_MAP.get(line.charAt(2)) + battleMap.get(line);
-        }
+    @Override
+    public long[] parse(final ByteBuffer input) {
+        return countRounds(input);
+    }
 
-        return score;
+    @Override
+    public Object part1(final long[] rounds) {
+        return score(rounds, SHAPE_SCORES);
     }
 
-    private int solve2(List<String> lines) {
-        int score = 0;
-        Map<Character, Integer> strategy = Map.of(
-                'X', 0,
-                'Y', 3,
-                'Z', 6
-        );
-
-        Map<String, Character> battleMap = Map.of(
-                "A X", 'C',
-                "A Y", 'A',
-                "A Z", 'B',
-                "B X", 'A',
-                "B Y", 'B',
-                "B Z", 'C',
-                "C X", 'B',
-                "C Y", 'C',
-                "C Z", 'A'
-        );
+    @Override
+    public Object part2(final long[] rounds) {
+        return score(rounds, OUTCOME_SCORES);
+    }
+
+    @Override
+    public BinaryCodec<long[]> codec() {
+        return BinaryCodec.LONG_ARRAY;
+    }
 
+    long solve(List<String> lines) {
+        return score(countRounds(lines), SHAPE_SCORES);
+    }
+
+    long solve2(List<String> lines) {
+        return score(countRounds(lines), OUTCOME_SCORES);
+    }
+
+    /**
+     * Counts how many times each of the nine round types is played.
+     * <p>Time complexity: O(n)
+     * Space complexity: O(1)</p>
+     */
+    static long[] countRounds(final List<String> lines) {
+        final long[] rounds = new long[ROUND_TYPES];
         for (String line : lines) {
-            score += POINTS_MAP.get(battleMap.get(line)) + strategy.get(line.charAt(2));
+            if (!line.isEmpty()) {
+                rounds[roundType(line.charAt(0), line.charAt(2))]++;
+            }
         }
+        return rounds;
+    }
 
+    /**
+     * Time complexity: O(n)
+     * Space complexity: O(1)
+     */
+    static long[] countRounds(final ByteBuffer buffer) {
+        final long[] rounds = new long[ROUND_TYPES];
+        final int limit = buffer.limit();
+        int pos = 0;
+        while (pos + 2 < limit) {
+            final byte opponent = buffer.get(pos);
+            if (opponent == '\n' || opponent == '\r') {
+                pos++;
+                continue;
+            }
+            rounds[roundType(opponent, buffer.get(pos + 2))]++;
+            pos += 4;
+        }
+        return rounds;
+    }
+
+    static long score(final long[] rounds, final int[] scores) {
+        long score = 0;
+        for (int i = 0; i < ROUND_TYPES; i++) {
+            score += rounds[i] * scores[i];
+        }
         return score;
     }
+
+    private static int roundType(final int opponent, final int response) {
+        return (opponent - 'A') * 3 + response - 'X';
+    }
 }
@@ -1,11 +1,11 @@
 package org.jastka4.adventofcode.edition2022;
 
+import org.jastka4.adventofcode.Pipeline;
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
-import java.util.Set;
 
 /**
  * <h2>--- Day 3: Rucksack Reorganization ---</h2>
@@ -90,74 +90,85 @@ import java.util.Set;
  * <p>Find the item type that corresponds to the badges of each three-Elf group.
  * <em>What is the sum of the priorities of those item types?</em></p>
  */
-public class Day3 {
+public class Day3 implements Solver<List<String>> {
     private static final String INPUT_CONFIG = "input.2022.day3";
+    private static final int GROUP_SIZE = 3;
 
     public static void main(String... args) {
-        final Day3 day3 = new Day3();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
-        try {
-            System.out.println("Part 1: " + day3.solve(allLines));
-            System.out.println("Part 2: " + day3.solve2(allLines));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        final Pipeline.Answers answers = Pipeline.load(new Day3(), prop.getProperty(INPUT_CONFIG)).solveConcurrently();
+
+        System.out.println("Part 1: " + answers.getPart1());
+        System.out.println("Part 2: " + answers.getPart2());
+    }
+
+    @Override
+    public List<String> parse(final List<String> lines) {
+        return lines;
+    }
+
+    @Override
+    public Object part1(final List<String> lines) {
+        return solve(lines);
+    }
+
+    @Override
+    public Object part2(final List<String> lines) {
+        return solve2(lines);
     }
 
-    private int solve(List<String> lines) {
+    /**
+     * Time complexity: O(n)
+     * Space complexity: O(1)
+     */
+    int solve(List<String> lines) {
         int result = 0;
         for (String line : lines) {
-            String firstHalf = line.substring(0, line.length() / 2);
-            String secondHalf = line.substring(line.length() / 2);
-
-            for (char c : firstHalf.toCharArray()) {
-                boolean contains = secondHalf.contains(String.valueOf(c));
-                if (contains) {
-                    if (Character.isUpperCase(c)) {
-                        result += c - 38;
-                    } else {
-                        result += c - 96;
-                    }
-                    break;
-                }
-            }
+            final int half = line.length() / 2;
+            result += priority(itemSet(line, 0, half) & itemSet(line, half, line.length()));
         }
 
         return result;
     }
 
-    private int solve2(List<String> lines) {
-        int result = 0;
+    int solve2(List<String> lines) {
+        return solve2(lines, GROUP_SIZE);
+    }
 
-        for (int i = 0; i < lines.size(); i += 3) {
-            Set<Character> common = new HashSet<>();
-            Set<Character> set2 = new HashSet<>();
-            Set<Character> set3 = new HashSet<>();
+    /**
+     * Time complexity: O(n)
+     * Space complexity: O(1)
+     */
+    int solve2(List<String> lines, int groupSize) {
+        int result = 0;
 
-            for (char c : lines.get(i).toCharArray()) {
-                common.add(c);
-            }
-            for (char c : lines.get(i + 1).toCharArray()) {
-                set2.add(c);
-            }
-            for (char c : lines.get(i + 2).toCharArray()) {
-                set3.add(c);
+        for (int i = 0; i + groupSize <= lines.size(); i += groupSize) {
+            long common = -1L;
+            for (int j = i; j < i + groupSize; j++) {
+                common &= itemSet(lines.get(j), 0, lines.get(j).length());
             }
+            result += priority(common);
+        }
 
-            common.retainAll(set2);
-            common.retainAll(set3);
+        return result;
+    }
 
-            for (Character c : common) {
-                if (Character.isUpperCase(c)) {
-                    result += c - 38;
-                } else {
-                    result += c - 96;
-                }
-                break;
-            }
+    /**
+     * Every item type is stored as the bit of its priority, so 52 item types fit in a single {@code long}.
+     */
+    static long itemSet(final CharSequence items, final int from, final int to) {
+        long set = 0;
+        for (int i = from; i < to; i++) {
+            final char c = items.charAt(i);
+            set |= 1L << (Character.isUpperCase(c) ? c - 38 : c - 96);
         }
+        return set;
+    }
 
-        return result;
+    /**
+     * @return the priority of the lowest item type in the set, or 0 for an empty set
+     */
+    static int priority(final long itemSet) {
+        return itemSet == 0 ? 0 : Long.numberOfTrailingZeros(itemSet);
     }
 }
@@ -1,10 +1,10 @@
 package org.jastka4.adventofcode.edition2022;
 
-import org.apache.commons.lang3.Range;
-import org.apache.commons.lang3.tuple.Pair;
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Properties;
 
@@ -83,58 +83,48 @@ import java.util.Properties;
  * <p>So, in this example, the number of overlapping assignment pairs is <code><em>4</em></code>.</p>
  * <p><em>In how many assignment pairs do the ranges overlap?</em></p>
  */
-public class Day4 {
+public class Day4 implements Solver<SectionAssignments> {
     private static final String INPUT_CONFIG = "input.2022.day4";
 
     public static void main(String... args) {
-        final Day4 day4 = new Day4();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
+        final SectionAssignments assignments = SectionAssignments.parse(Utils.mapFile(prop.getProperty(INPUT_CONFIG)));
+        final SectionAssignments.Counts counts = assignments.count();
 
-        final List<Pair<Range<Integer>, Range<Integer>>> pairs = createPairs(allLines);
-
-        try {
-            System.out.println("Part 1: " + day4.solve(pairs));
-            System.out.println("Part 2: " + day4.solve2(pairs));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        System.out.println("Part 1: " + counts.getContained());
+        System.out.println("Part 2: " + counts.getOverlapping());
     }
 
-    private int solve(List<Pair<Range<Integer>, Range<Integer>>> pairs) {
-        int result = 0;
+    @Override
+    public SectionAssignments parse(final List<String> lines) {
+        return SectionAssignments.parse(lines);
+    }
 
-        for (Pair<Range<Integer>, Range<Integer>> pair : pairs) {
-            if (pair.getLeft().containsRange(pair.getRight()) || pair.getRight().containsRange(pair.getLeft())) {
-                result++;
-            }
-        }
+    @Override
+    public SectionAssignments parse(final ByteBuffer input) {
+        return SectionAssignments.parse(input);
+    }
 
-        return result;
+    @Override
+    public Object part1(final SectionAssignments assignments) {
+        return solve(assignments);
     }
 
-    private int solve2(List<Pair<Range<Integer>, Range<Integer>>> pairs) {
-        int result = 0;
-        for (Pair<Range<Integer>, Range<Integer>> pair : pairs) {
+    @Override
+    public Object part2(final SectionAssignments assignments) {
+        return solve2(assignments);
+    }
 
-            if (pair.getLeft().isOverlappedBy(pair.getRight())) {
-                result++;
-            }
-        }
-        return result;
+    @Override
+    public BinaryCodec<SectionAssignments> codec() {
+        return SectionAssignments.CODEC;
     }
 
-    private static List<Pair<Range<Integer>, Range<Integer>>> createPairs(List<String> allLines) {
-        final List<Pair<Range<Integer>, Range<Integer>>> pairs = new ArrayList<>();
-        for (String line : allLines) {
-            final String[] parts = line.split(",");
-            final String[] firstParts = parts[0].split("-");
-            final String[] secondParts = parts[1].split("-");
-            final Range<Integer> firstRange = Range.between(Integer.valueOf(firstParts[0]), Integer.valueOf(firstParts[1]));
-            final Range<Integer> secondRange = Range.between(Integer.valueOf(secondParts[0]), Integer.valueOf(secondParts[1]));
+    int solve(SectionAssignments assignments) {
+        return assignments.count().getContained();
+    }
 
-            pairs.add(Pair.of(firstRange, secondRange));
-        }
-        return pairs;
+    int solve2(SectionAssignments assignments) {
+        return assignments.count().getOverlapping();
     }
 }
@@ -1,12 +1,13 @@
 package org.jastka4.adventofcode.edition2022;
 
-import org.apache.commons.lang3.StringUtils;
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
-import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -138,33 +139,63 @@ import java.util.regex.Pattern;
  * where they should stand to be ready to unload the final supplies. <em>After the rearrangement procedure completes,
  * what crate ends up on top of each stack?</em></p>
  */
-public class Day5 {
+public class Day5 implements Solver<Day5.Procedure> {
     private static final String INPUT_CONFIG = "input.2022.day5";
+    private static final Pattern CRATE = Pattern.compile("(\\[\\w\\]| {3}) ?");
 
+    /**
+     * Replays the log straight from the mapped file, feeding every move to both cranes as it is read.
+     */
     public static void main(final String... args) {
-        final Day5 day5 = new Day5();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
+        final CraneLog log = CraneLog.parse(Utils.mapFile(prop.getProperty(INPUT_CONFIG)));
+        final List<CrateStack> crateMover9000 = copy(log.getCrates());
+        final List<CrateStack> crateMover9001 = copy(log.getCrates());
+        log.forEachMove((quantity, from, to) -> {
+            crateMover9000.get(from - 1).moveTo(crateMover9000.get(to - 1), quantity, false);
+            crateMover9001.get(from - 1).moveTo(crateMover9001.get(to - 1), quantity, true);
+        });
 
-        final List<Move> moves = getMoves(allLines);
+        System.out.println("Part 1: " + tops(crateMover9000));
+        System.out.println("Part 2: " + tops(crateMover9001));
+    }
 
-        try {
-            System.out.println("Part 1: " + day5.solve(getCrates(allLines), moves));
-            System.out.println("Part 2: " + day5.solve2(getCrates(allLines), moves));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    @Override
+    public Procedure parse(final List<String> lines) {
+        return new Procedure(getCrates(lines), getMoves(lines));
+    }
+
+    @Override
+    public Procedure parse(final ByteBuffer input) {
+        final CraneLog log = CraneLog.parse(input);
+        final List<Move> moves = new ArrayList<>();
+        log.forEachMove((quantity, from, to) -> moves.add(new Move(quantity, from, to)));
+        return new Procedure(log.getCrates(), moves);
     }
 
-    private static List<Stack<Character>> getCrates(final List<String> lines) {
-        List<Stack<Character>> crates = new ArrayList<>();
+    @Override
+    public Object part1(final Procedure procedure) {
+        return solve(procedure.crates, procedure.moves);
+    }
+
+    @Override
+    public Object part2(final Procedure procedure) {
+        return solve2(procedure.crates, procedure.moves);
+    }
+
+    @Override
+    public BinaryCodec<Procedure> codec() {
+        return Procedure.CODEC;
+    }
+
+    static List<CrateStack> getCrates(final List<String> lines) {
+        List<CrateStack> crates = new ArrayList<>();
 
         for (String line : lines) {
             if (line.startsWith(" 1")) {
                 String[] columns = line.strip().split(" {3}");
                 for (int j = 0; j < columns.length; j++) {
-                    Stack<Character> column = new Stack<>();
-                    crates.add(column);
+                    crates.add(new CrateStack());
                 }
                 break;
             }
@@ -172,8 +203,7 @@ public class Day5 {
 
         for (int i = lines.size(); i-- > 0; ) {
             if (!lines.get(i).startsWith("move") && !lines.get(i).isBlank()) {
-                final Pattern pattern = Pattern.compile("(\\[\\w\\]| {3}) ?");
-                final Matcher matcher = pattern.matcher(lines.get(i));
+                final Matcher matcher = CRATE.matcher(lines.get(i));
                 final List<String> columns = new ArrayList<>();
                 while (matcher.find()) {
                     columns.add(matcher.group());
@@ -189,7 +219,7 @@ public class Day5 {
         return crates;
     }
 
-    private static List<Move> getMoves(List<String> lines) {
+    static List<Move> getMoves(List<String> lines) {
         List<Move> moves = new ArrayList<>();
         for (String line : lines) {
             if (line.startsWith("move")) {
@@ -201,40 +231,94 @@ public class Day5 {
         return moves;
     }
 
-    private String solve(final List<Stack<Character>> crates, final List<Move> moves) {
+    /**
+     * Rearranges a copy of the given stacks, so the same crates can be solved from several threads.
+     * Time complexity: O(m * q), where q is the number of crates in a move
+     * Space complexity: O(c), where c is the number of crates
+     */
+    String solve(final List<CrateStack> crates, final List<Move> moves) {
+        return rearrange(copy(crates), moves, false);
+    }
+
+    /**
+     * Rearranges a copy of the given stacks, so the same crates can be solved from several threads.
+     * Time complexity: O(m * q), a single bulk copy per move
+     * Space complexity: O(c), where c is the number of crates
+     */
+    String solve2(final List<CrateStack> crates, final List<Move> moves) {
+        return rearrange(copy(crates), moves, true);
+    }
+
+    static List<CrateStack> copy(final List<CrateStack> crates) {
+        final List<CrateStack> copy = new ArrayList<>(crates.size());
+        for (CrateStack stack : crates) {
+            copy.add(stack.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Finds the top crates without simulating the crates at all: the final top position of every stack is traced
+     * backwards through the moves to the position it had in the initial drawing. The given stacks are not modified.
+     * <p>Time complexity: O(m * s), where s is the number of stacks, independent of stack heights and move quantities
+     * Space complexity: O(s)</p>
+     *
+     * @param keepOrder whether the crane moves several crates at once (CrateMover 9001) or one at a time (9000)
+     */
+    static String solveByTracing(final List<CrateStack> crates, final List<Move> moves, final boolean keepOrder) {
+        final int[] heights = new int[crates.size()];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = crates.get(i).size();
+        }
         for (Move move : moves) {
-            for (int i = 0; i < move.quantity; i++) {
-                Character crate = crates.get(move.from - 1).pop();
-                crates.get(move.to - 1).push(crate);
-            }
+            heights[move.from - 1] -= move.quantity;
+            heights[move.to - 1] += move.quantity;
         }
 
-        StringBuilder result = new StringBuilder(StringUtils.EMPTY);
-        for (Stack<Character> column : crates) {
-            result.append(column.peek());
+        final StringBuilder result = new StringBuilder();
+        for (int top = 0; top < heights.length; top++) {
+            if (heights[top] == 0) {
+                continue;
+            }
+            int stack = top;
+            int depth = 0;
+            for (int i = moves.size(); i-- > 0; ) {
+                final Move move = moves.get(i);
+                final int from = move.from - 1;
+                final int to = move.to - 1;
+                if (from == to) {
+                    continue;
+                }
+                if (stack == to) {
+                    if (depth < move.quantity) {
+                        stack = from;
+                        depth = keepOrder ? depth : move.quantity - 1 - depth;
+                    } else {
+                        depth -= move.quantity;
+                    }
+                } else if (stack == from) {
+                    depth += move.quantity;
+                }
+            }
+            final CrateStack initial = crates.get(stack);
+            result.append(initial.get(initial.size() - 1 - depth));
         }
 
         return result.toString();
     }
 
-    private String solve2(final List<Stack<Character>> crates, final List<Move> moves) {
+    private static String rearrange(final List<CrateStack> crates, final List<Move> moves, final boolean keepOrder) {
         for (Move move : moves) {
-            List<Character> temp = new Stack<>();
-            for (int i = 0; i < move.quantity; i++) {
-                Character crate = crates.get(move.from - 1).pop();
-                temp.add(crate);
-            }
-
-            for (int i = temp.size(); i-- > 0; ) {
-                crates.get(move.to - 1).push(temp.get(i));
-            }
+            crates.get(move.from - 1).moveTo(crates.get(move.to - 1), move.quantity, keepOrder);
         }
+        return tops(crates);
+    }
 
-        StringBuilder result = new StringBuilder(StringUtils.EMPTY);
-        for (Stack<Character> column : crates) {
+    static String tops(final List<CrateStack> crates) {
+        final StringBuilder result = new StringBuilder(crates.size());
+        for (CrateStack column : crates) {
             result.append(column.peek());
         }
-
         return result.toString();
     }
 
@@ -244,9 +328,71 @@ public class Day5 {
         int to;
 
         public Move(String quantity, String from, String to) {
-            this.quantity = Integer.parseInt(quantity);
-            this.from = Integer.parseInt(from);
-            this.to = Integer.parseInt(to);
+            this(Integer.parseInt(quantity), Integer.parseInt(from), Integer.parseInt(to));
+        }
+
+        public Move(int quantity, int from, int to) {
+            this.quantity = quantity;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * The starting stacks of crates together with the rearrangement procedure. Neither is modified after parsing,
+     * solvers rearrange {@link Day5#copy(List) copies} of the stacks.
+     */
+    static class Procedure {
+        static final BinaryCodec<Procedure> CODEC = new BinaryCodec<>() {
+            @Override
+            public long size(final Procedure procedure) {
+                long size = Integer.BYTES;
+                for (CrateStack stack : procedure.crates) {
+                    size += Integer.BYTES + (long) stack.size() * Character.BYTES;
+                }
+                return size + Integer.BYTES + 3L * Integer.BYTES * procedure.moves.size();
+            }
+
+            @Override
+            public void write(final Procedure procedure, final ByteBuffer buffer) {
+                buffer.putInt(procedure.crates.size());
+                for (CrateStack stack : procedure.crates) {
+                    buffer.putInt(stack.size());
+                    for (int i = 0; i < stack.size(); i++) {
+                        buffer.putChar(stack.get(i));
+                    }
+                }
+                buffer.putInt(procedure.moves.size());
+                for (Move move : procedure.moves) {
+                    buffer.putInt(move.quantity).putInt(move.from).putInt(move.to);
+                }
+            }
+
+            @Override
+            public Procedure read(final ByteBuffer buffer) {
+                final List<CrateStack> crates = new ArrayList<>();
+                for (int stacks = buffer.getInt(); stacks > 0; stacks--) {
+                    final int size = buffer.getInt();
+                    final CrateStack stack = new CrateStack(size);
+                    for (int i = 0; i < size; i++) {
+                        stack.push(buffer.getChar());
+                    }
+                    crates.add(stack);
+                }
+                final List<Move> moves = new ArrayList<>();
+                for (int count = buffer.getInt(); count > 0; count--) {
+                    moves.add(new Move(buffer.getInt(), buffer.getInt(), buffer.getInt()));
+                }
+                return new Procedure(crates, moves);
+            }
+        };
+
+        final List<CrateStack> crates;
+        final List<Move> moves;
+
+        Procedure(final List<CrateStack> crates, final List<Move> moves) {
+            this.crates = List.copyOf(crates);
+            this.moves = List.copyOf(moves);
         }
     }
 }
@@ -1,10 +1,14 @@
 package org.jastka4.adventofcode.edition2022;
 
+import org.jastka4.adventofcode.Solver;
 import org.jastka4.adventofcode.edition2020.Utils;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * <h2>--- Day 6: Tuning Trouble ---</h2>
@@ -67,37 +71,73 @@ import java.util.Properties;
  * </ul>
  * <p><em>How many characters need to be processed before the first start-of-message marker is detected?</em></p>
  */
-public class Day6 {
+public class Day6 implements Solver<DistinctRunIndex> {
     private static final String INPUT_CONFIG = "input.2022.day6";
 
+    /**
+     * Scans the datastream once into a {@link DistinctRunIndex} and reads both markers from it.
+     */
     public static void main(final String... args) {
-        final Day6 day6 = new Day6();
         final Properties prop = Utils.getProperties();
-        final List<String> allLines = Utils.getLinesFromFile(prop.getProperty(INPUT_CONFIG));
+        final DistinctRunIndex index = DistinctRunIndex.build(Utils.getFirstLineFromFile(prop.getProperty(INPUT_CONFIG)));
 
-        try {
-            System.out.println("Part 1: " + day6.solve(allLines.get(0), 4));
-            System.out.println("Part 2: " + day6.solve(allLines.get(0), 14));
-        } catch (Exception e) {
-            e.printStackTrace();
+        System.out.println("Part 1: " + index.firstMarker(4));
+        System.out.println("Part 2: " + index.firstMarker(14));
+    }
+
+    @Override
+    public DistinctRunIndex parse(final List<String> lines) {
+        return DistinctRunIndex.build(lines.isEmpty() ? "" : lines.get(0));
+    }
+
+    /**
+     * Only the first line is the datastream, like in {@link #parse(List)}.
+     */
+    @Override
+    public DistinctRunIndex parse(final ByteBuffer input) {
+        int end = 0;
+        while (end < input.limit() && input.get(end) != '\n' && input.get(end) != '\r') {
+            end++;
         }
+        return DistinctRunIndex.build(input.duplicate().limit(end));
     }
 
-    private int solve(final String line, final int markerSize) {
-        for (int i = 0; i < line.length() - markerSize; i++) {
-            final List<Character> lastCharacters = new ArrayList<>();
-            for (int j = i; j < i + markerSize; j++) {
-                lastCharacters.add(line.charAt(j));
-            }
-            if (!containsDuplicates(lastCharacters)) {
-                return i + markerSize;
+    @Override
+    public Object part1(final DistinctRunIndex index) {
+        return index.firstMarker(4);
+    }
+
+    @Override
+    public Object part2(final DistinctRunIndex index) {
+        return index.firstMarker(14);
+    }
+
+    /**
+     * Time complexity: O(n)
+     * Space complexity: O(1)
+     */
+    int solve(final String line, final int markerSize) {
+        final MarkerDetector detector = new MarkerDetector(markerSize);
+        for (int i = 0; i < line.length(); i++) {
+            if (detector.push(line.charAt(i))) {
+                return (int) detector.getMarker();
             }
         }
 
         return 0;
     }
 
-    private static boolean containsDuplicates(final List<Character> lastCharacters) {
-        return lastCharacters.stream().distinct().count() != lastCharacters.size();
+    /**
+     * Same contract as {@link #solve(String, int)}, but the datastream is scanned in parallel chunks.
+     */
+    long solveParallel(final ByteBuffer datastream, final int markerSize) {
+        return MarkerSearch.find(datastream, markerSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans a capture file of any size in parallel chunks, mapping only the part of the file each chunk reads.
+     */
+    long solveParallel(final Path capture, final int markerSize) throws IOException {
+        return MarkerSearch.find(capture, markerSize, ForkJoinPool.commonPool());
     }
 }
@@ -0,0 +1,155 @@
+package org.jastka4.adventofcode.edition2022;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Index of a datastream that answers marker queries for any marker size after a single scan.
+ * <p>For every position it stores the length of the longest run of distinct bytes ending there, which is at most
+ * 256 and fits into a {@code char}. A marker of size k ends exactly where that length reaches k, so the same
+ * scan also records where each length is reached first. On top of the run lengths a max-tree over blocks of
+ * positions lets all markers of a size be enumerated while skipping the blocks that contain none.</p>
+ * <p>Time complexity: O(n) to build, O(1) for the first marker and O((r + 1) * log n) for all r markers of a size
+ * Space complexity: O(n), two bytes per position plus a few per block</p>
+ */
+public final class DistinctRunIndex {
+    private static final int SYMBOLS = 256;
+    private static final int BLOCK_SHIFT = 5;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final char[] runs;
+    private final int[] firstReach = new int[SYMBOLS + 1];
+    private final int leaves;
+    private final char[] tree;
+
+    private DistinctRunIndex(final int length, final Symbols symbols) {
+        runs = new char[length];
+        Arrays.fill(firstReach, -1);
+        final int[] lastSeen = new int[SYMBOLS];
+        Arrays.fill(lastSeen, -1);
+        int start = 0;
+        int reached = 0;
+        for (int i = 0; i < length; i++) {
+            final int symbol = symbols.get(i) & 0xFF;
+            start = Math.max(start, lastSeen[symbol] + 1);
+            lastSeen[symbol] = i;
+            final int run = i - start + 1;
+            runs[i] = (char) run;
+            while (reached < run) {
+                firstReach[++reached] = i;
+            }
+        }
+
+        final int blocks = (length + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+        leaves = Integer.highestOneBit(Math.max(blocks, 1) * 2 - 1);
+        tree = new char[2 * leaves];
+        for (int i = 0; i < length; i++) {
+            final int leaf = leaves + (i >> BLOCK_SHIFT);
+            tree[leaf] = (char) Math.max(tree[leaf], runs[i]);
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = (char) Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public static DistinctRunIndex build(final ByteBuffer datastream) {
+        return new DistinctRunIndex(datastream.limit(), datastream::get);
+    }
+
+    /**
+     * Characters are indexed by their low byte, like {@link MarkerDetector} does.
+     */
+    public static DistinctRunIndex build(final String datastream) {
+        return new DistinctRunIndex(datastream.length(), datastream::charAt);
+    }
+
+    public int length() {
+        return runs.length;
+    }
+
+    /**
+     * @return the length of the longest run of distinct bytes ending at the given position
+     */
+    public int runLength(final int position) {
+        return runs[position];
+    }
+
+    /**
+     * Time complexity: O(1)
+     *
+     * @return the number of bytes read when the first marker of the given size was completed,
+     * or 0 if there is none
+     */
+    public int firstMarker(final int markerSize) {
+        checkMarkerSize(markerSize);
+        return markerSize <= SYMBOLS ? firstReach[markerSize] + 1 : 0;
+    }
+
+    /**
+     * @return the number of bytes read when each marker of the given size was completed, in ascending order
+     */
+    public int[] markers(final int markerSize) {
+        final MarkerList markers = new MarkerList();
+        forEachMarker(markerSize, markers);
+        return markers.toArray();
+    }
+
+    /**
+     * Hands every marker of the given size to the consumer, in ascending order, visiting only the blocks
+     * of the max-tree whose longest run is at least the marker size.
+     */
+    public void forEachMarker(final int markerSize, final IntConsumer consumer) {
+        checkMarkerSize(markerSize);
+        if (markerSize <= SYMBOLS && tree[1] >= markerSize) {
+            visit(1, markerSize, consumer);
+        }
+    }
+
+    private void visit(final int node, final int markerSize, final IntConsumer consumer) {
+        if (node >= leaves) {
+            final int from = (node - leaves) << BLOCK_SHIFT;
+            final int to = Math.min(from + BLOCK_SIZE, runs.length);
+            for (int i = from; i < to; i++) {
+                if (runs[i] >= markerSize) {
+                    consumer.accept(i + 1);
+                }
+            }
+            return;
+        }
+        if (tree[2 * node] >= markerSize) {
+            visit(2 * node, markerSize, consumer);
+        }
+        if (tree[2 * node + 1] >= markerSize) {
+            visit(2 * node + 1, markerSize, consumer);
+        }
+    }
+
+    private static void checkMarkerSize(final int markerSize) {
+        if (markerSize <= 0) {
+            throw new IllegalArgumentException("Marker size has to be positive: " + markerSize);
+        }
+    }
+
+    private static final class MarkerList implements IntConsumer {
+        private int[] markers = new int[16];
+        private int size;
+
+        @Override
+        public void accept(final int marker) {
+            if (size == markers.length) {
+                markers = Arrays.copyOf(markers, size * 2);
+            }
+            markers[size++] = marker;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(markers, size);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Symbols {
+        int get(int index);
+    }
+}
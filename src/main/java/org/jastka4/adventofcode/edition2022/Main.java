@@ -0,0 +1,18 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.Runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the {@code edition2022} jar, runs every day of 2022 with the {@link Runner}.
+ * <p>Usage: {@code java -jar adventofcode-<version>-edition2022.jar [repeat] [warmup] [--cache] [--report=<file>]}</p>
+ */
+public class Main {
+    public static void main(final String... args) throws InterruptedException {
+        final List<String> arguments = new ArrayList<>(List.of(args));
+        arguments.add(0, "2022");
+        Runner.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,111 @@
+package org.jastka4.adventofcode.edition2022;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Detects the first run of {@code markerSize} distinct bytes in a datastream that is pushed to it byte by byte.
+ * <p>Only the last position of every byte value is remembered, so each byte costs O(1)
+ * and memory stays constant however long the stream is.</p>
+ */
+public class MarkerDetector {
+    private static final int SYMBOLS = 256;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int markerSize;
+    private final long[] lastSeen = new long[SYMBOLS];
+    private long position;
+    private long windowStart;
+    private long marker = -1;
+
+    public MarkerDetector(final int markerSize) {
+        if (markerSize <= 0) {
+            throw new IllegalArgumentException("Marker size has to be positive: " + markerSize);
+        }
+        this.markerSize = markerSize;
+        Arrays.fill(lastSeen, -1);
+    }
+
+    /**
+     * Time complexity: O(n), where n is the number of bytes read until the marker
+     * Space complexity: O(1)
+     *
+     * @return the number of bytes read when the marker was completed, or 0 if the stream ended without one
+     */
+    public static long find(final InputStream input, final int markerSize) throws IOException {
+        final MarkerDetector detector = new MarkerDetector(markerSize);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            if (detector.push(buffer, 0, read)) {
+                return detector.getMarker();
+            }
+        }
+        return 0;
+    }
+
+    public static long find(final ReadableByteChannel channel, final int markerSize) throws IOException {
+        final MarkerDetector detector = new MarkerDetector(markerSize);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            if (detector.push(buffer)) {
+                return detector.getMarker();
+            }
+            buffer.clear();
+        }
+        return 0;
+    }
+
+    /**
+     * @return whether the marker has been completed by this or an earlier byte
+     */
+    public boolean push(final int symbol) {
+        if (marker >= 0) {
+            return true;
+        }
+        final int index = symbol & 0xFF;
+        windowStart = Math.max(windowStart, lastSeen[index] + 1);
+        lastSeen[index] = position++;
+        if (position - windowStart >= markerSize) {
+            marker = position;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean push(final byte[] bytes, final int offset, final int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (push(bytes[i])) {
+                return true;
+            }
+        }
+        return marker >= 0;
+    }
+
+    /**
+     * Consumes the remaining bytes of the buffer up to and including the one that completes the marker.
+     */
+    public boolean push(final ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            if (push(buffer.get())) {
+                return true;
+            }
+        }
+        return marker >= 0;
+    }
+
+    /**
+     * @return the number of bytes read when the marker was completed, or -1 if it has not been found yet
+     */
+    public long getMarker() {
+        return marker;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
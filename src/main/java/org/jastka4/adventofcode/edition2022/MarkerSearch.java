@@ -0,0 +1,149 @@
+package org.jastka4.adventofcode.edition2022;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the first marker of a large datastream on a fork-join pool.
+ * <p>The stream is split into chunks that overlap by {@code markerSize - 1} bytes, so every window lies entirely
+ * in at least one chunk. Each chunk is scanned with its own {@link MarkerDetector} and the smallest marker wins;
+ * chunks that can no longer beat a marker already found stop early.</p>
+ * <p>Offsets are {@code long}s and a chunk is only read through its own window of the stream, so a file is mapped
+ * window by window and may be larger than the 2 GiB a single {@link ByteBuffer} can address.</p>
+ */
+public class MarkerSearch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final long MIN_CHUNK_SIZE = 1 << 16;
+    private static final long MAX_CHUNK_SIZE = 1 << 28;
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final int CANCELLATION_CHECK_INTERVAL = 1 << 12;
+    private static final long NOT_FOUND = Long.MAX_VALUE;
+
+    private final transient Windows datastream;
+    private final long length;
+    private final int markerSize;
+    private final long chunkSize;
+    private final AtomicLong best;
+    private final long from;
+    private final long to;
+
+    private MarkerSearch(final Windows datastream, final long length, final int markerSize, final long chunkSize,
+                         final AtomicLong best, final long from, final long to) {
+        this.datastream = datastream;
+        this.length = length;
+        this.markerSize = markerSize;
+        this.chunkSize = chunkSize;
+        this.best = best;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Time complexity: O(n / p)
+     * Space complexity: O(p)
+     *
+     * @return the number of bytes read when the first marker is completed, or 0 if there is no marker
+     */
+    public static long find(final ByteBuffer datastream, final int markerSize, final ForkJoinPool pool) {
+        return find((from, windowLength) -> datastream.slice((int) from, (int) windowLength), datastream.limit(),
+                markerSize, pool);
+    }
+
+    /**
+     * Searches the whole file, except for line breaks at its very end, mapping one window per chunk.
+     */
+    public static long find(final Path file, final int markerSize, final ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return find((from, windowLength) -> channel.map(FileChannel.MapMode.READ_ONLY, from, windowLength),
+                    withoutTrailingLineBreaks(channel), markerSize, pool);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long find(final Windows datastream, final long length, final int markerSize,
+                             final ForkJoinPool pool) {
+        if (markerSize <= 0) {
+            throw new IllegalArgumentException("Marker size has to be positive: " + markerSize);
+        }
+        final long chunkSize = Math.min(MAX_CHUNK_SIZE,
+                Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * CHUNKS_PER_THREAD)));
+        final AtomicLong best = new AtomicLong(NOT_FOUND);
+        pool.invoke(new MarkerSearch(datastream, length, markerSize, chunkSize, best, 0, length));
+        return best.get() == NOT_FOUND ? 0 : best.get();
+    }
+
+    @Override
+    protected void compute() {
+        if (cannotImprove()) {
+            return;
+        }
+        if (to - from <= chunkSize) {
+            scan();
+            return;
+        }
+        final long middle = from + (to - from) / 2;
+        invokeAll(new MarkerSearch(datastream, length, markerSize, chunkSize, best, from, middle),
+                new MarkerSearch(datastream, length, markerSize, chunkSize, best, middle, to));
+    }
+
+    /**
+     * Checks every window that starts in {@code [from, to)}, reading up to {@code markerSize - 1} bytes past the chunk.
+     */
+    private void scan() {
+        final int windowLength = (int) (Math.min(to + markerSize - 1, length) - from);
+        final ByteBuffer window;
+        try {
+            window = datastream.get(from, windowLength);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final MarkerDetector detector = new MarkerDetector(markerSize);
+        for (int pos = 0; pos < windowLength; pos++) {
+            if (detector.push(window.get(pos))) {
+                best.accumulateAndGet(from + detector.getMarker(), Math::min);
+                return;
+            }
+            if (pos % CANCELLATION_CHECK_INTERVAL == 0 && best.get() <= from + pos + 1) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Every marker found in this range is completed after at least {@code from + markerSize} bytes.
+     */
+    private boolean cannotImprove() {
+        return best.get() <= from + markerSize;
+    }
+
+    private static long withoutTrailingLineBreaks(final FileChannel channel) throws IOException {
+        long size = channel.size();
+        final ByteBuffer last = ByteBuffer.allocate(1);
+        while (size > 0) {
+            last.clear();
+            channel.read(last, size - 1);
+            final byte b = last.get(0);
+            if (b != '\n' && b != '\r') {
+                break;
+            }
+            size--;
+        }
+        return size;
+    }
+
+    /**
+     * Gives access to the part of the datastream a chunk scans.
+     */
+    @FunctionalInterface
+    private interface Windows {
+        ByteBuffer get(long from, int length) throws IOException;
+    }
+}
@@ -0,0 +1,174 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BinaryCodec;
+import org.jastka4.adventofcode.edition2020.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assignment pairs <code>lo1-hi1,lo2-hi2</code> stored column by column in four primitive arrays.
+ */
+public class SectionAssignments {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    static final BinaryCodec<SectionAssignments> CODEC = new BinaryCodec<>() {
+        @Override
+        public long size(final SectionAssignments assignments) {
+            return 4 * (Integer.BYTES + (long) assignments.size * Integer.BYTES);
+        }
+
+        @Override
+        public void write(final SectionAssignments assignments, final ByteBuffer buffer) {
+            BinaryCodec.writeInts(buffer, assignments.lo1, assignments.size);
+            BinaryCodec.writeInts(buffer, assignments.hi1, assignments.size);
+            BinaryCodec.writeInts(buffer, assignments.lo2, assignments.size);
+            BinaryCodec.writeInts(buffer, assignments.hi2, assignments.size);
+        }
+
+        @Override
+        public SectionAssignments read(final ByteBuffer buffer) {
+            final SectionAssignments assignments = new SectionAssignments(0);
+            assignments.lo1 = BinaryCodec.readInts(buffer);
+            assignments.hi1 = BinaryCodec.readInts(buffer);
+            assignments.lo2 = BinaryCodec.readInts(buffer);
+            assignments.hi2 = BinaryCodec.readInts(buffer);
+            assignments.size = assignments.lo1.length;
+            return assignments;
+        }
+    };
+
+    private int[] lo1;
+    private int[] hi1;
+    private int[] lo2;
+    private int[] hi2;
+    private int size;
+
+    public SectionAssignments() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public SectionAssignments(final int capacity) {
+        lo1 = new int[capacity];
+        hi1 = new int[capacity];
+        lo2 = new int[capacity];
+        hi2 = new int[capacity];
+    }
+
+    public static SectionAssignments parse(final List<String> lines) {
+        final SectionAssignments assignments = new SectionAssignments(Math.max(lines.size(), 1));
+        for (String line : lines) {
+            final ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+            assignments.parse(buffer, 0, buffer.limit());
+        }
+        return assignments;
+    }
+
+    /**
+     * Time complexity: O(n), where n is the number of bytes
+     * Space complexity: O(m), where m is the number of pairs
+     */
+    public static SectionAssignments parse(final ByteBuffer buffer) {
+        final SectionAssignments assignments = new SectionAssignments();
+        assignments.parse(buffer, 0, buffer.limit());
+        return assignments;
+    }
+
+    /**
+     * The one parser behind both overloads: every non-blank line between {@code from} and {@code to}
+     * has to be exactly one pair <code>lo1-hi1,lo2-hi2</code>, optionally ended by a carriage return.
+     *
+     * @throws IllegalArgumentException if a line is not such a pair
+     */
+    private void parse(final ByteBuffer buffer, final int from, final int to) {
+        int pos = from;
+        final int[] bounds = new int[4];
+        while (pos < to) {
+            final byte b = buffer.get(pos);
+            if (b == '\n' || b == '\r') {
+                pos++;
+                continue;
+            }
+            for (int i = 0; i < bounds.length; i++) {
+                final int end = Utils.digitsEnd(buffer, pos, to);
+                bounds[i] = Utils.parseUnsignedInt(buffer, pos, end);
+                pos = end;
+                if (i < bounds.length - 1) {
+                    final byte separator = i == 1 ? (byte) ',' : (byte) '-';
+                    if (pos >= to || buffer.get(pos) != separator) {
+                        throw new IllegalArgumentException("Expected '" + (char) separator + "' at byte " + pos);
+                    }
+                    pos++;
+                }
+            }
+            if (pos < to && buffer.get(pos) == '\r') {
+                pos++;
+            }
+            if (pos < to && buffer.get(pos) != '\n') {
+                throw new IllegalArgumentException("Expected the end of the line at byte " + pos);
+            }
+            add(bounds[0], bounds[1], bounds[2], bounds[3]);
+        }
+    }
+
+    public void add(final int lo1, final int hi1, final int lo2, final int hi2) {
+        if (size == this.lo1.length) {
+            final int capacity = Math.max(size * 2, INITIAL_CAPACITY);
+            this.lo1 = Arrays.copyOf(this.lo1, capacity);
+            this.hi1 = Arrays.copyOf(this.hi1, capacity);
+            this.lo2 = Arrays.copyOf(this.lo2, capacity);
+            this.hi2 = Arrays.copyOf(this.hi2, capacity);
+        }
+        this.lo1[size] = lo1;
+        this.hi1[size] = hi1;
+        this.lo2[size] = lo2;
+        this.hi2[size] = hi2;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Counts the fully contained and the overlapping pairs in one pass. The loop body is branch-free
+     * (comparisons are turned into sign bits), so the JIT can unroll and vectorise it.
+     * <p>Time complexity: O(n)
+     * Space complexity: O(1)</p>
+     */
+    public Counts count() {
+        final int[] lo1 = this.lo1;
+        final int[] hi1 = this.hi1;
+        final int[] lo2 = this.lo2;
+        final int[] hi2 = this.hi2;
+        int contained = 0;
+        int overlapping = 0;
+        for (int i = 0; i < size; i++) {
+            final int firstContainsSecond = 1 ^ (((lo2[i] - lo1[i]) | (hi1[i] - hi2[i])) >>> 31);
+            final int secondContainsFirst = 1 ^ (((lo1[i] - lo2[i]) | (hi2[i] - hi1[i])) >>> 31);
+            contained += firstContainsSecond | secondContainsFirst;
+            overlapping += 1 ^ (((hi2[i] - lo1[i]) | (hi1[i] - lo2[i])) >>> 31);
+        }
+        return new Counts(contained, overlapping);
+    }
+
+    public static class Counts {
+        private final int contained;
+        private final int overlapping;
+
+        Counts(final int contained, final int overlapping) {
+            this.contained = contained;
+            this.overlapping = overlapping;
+        }
+
+        public int getContained() {
+            return contained;
+        }
+
+        public int getOverlapping() {
+            return overlapping;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.jastka4.adventofcode.edition2022;
+
+import org.jastka4.adventofcode.BinaryCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Keeps the {@code k} largest values offered so far in a primitive min-heap.
+ */
+public class TopK {
+    static final BinaryCodec<TopK> CODEC = new BinaryCodec<>() {
+        @Override
+        public long size(final TopK topK) {
+            return Integer.BYTES + Integer.BYTES + (long) topK.size * Integer.BYTES;
+        }
+
+        @Override
+        public void write(final TopK topK, final ByteBuffer buffer) {
+            buffer.putInt(topK.heap.length);
+            BinaryCodec.writeInts(buffer, topK.heap, topK.size);
+        }
+
+        @Override
+        public TopK read(final ByteBuffer buffer) {
+            final TopK topK = new TopK(buffer.getInt());
+            for (int value : BinaryCodec.readInts(buffer)) {
+                topK.offer(value);
+            }
+            return topK;
+        }
+    };
+
+    private final int[] heap;
+    private int size;
+
+    public TopK(final int k) {
+        this.heap = new int[k];
+    }
+
+    /**
+     * Time complexity: O(log k)
+     * Space complexity: O(1)
+     */
+    public void offer(final int value) {
+        if (size < heap.length) {
+            heap[size] = value;
+            siftUp(size++);
+        } else if (size > 0 && value > heap[0]) {
+            heap[0] = value;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offers every value kept by {@code other} to this heap and returns this heap.
+     */
+    public TopK merge(final TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+        return this;
+    }
+
+    public int max() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, heap[i]);
+        }
+        return max;
+    }
+
+    public int sum() {
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += heap[i];
+        }
+        return sum;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) / 2;
+            if (heap[parent] <= heap[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final int left = 2 * index + 1;
+            final int right = left + 1;
+            int smallest = index;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void swap(final int i, final int j) {
+        final int temp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = temp;
+    }
+}